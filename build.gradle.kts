@@ -46,6 +46,23 @@ dependencies {
 group = "dinkplugin"
 version = "1.14.4"
 
+// microbenchmarks for hot paths (e.g., chat parsing); run via `./gradlew jmh -Pjmh.include=ChatParsing`
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.compileOnlyConfigurationName].extendsFrom(configurations.testCompileOnly.get())
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.testImplementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.testRuntimeOnly.get())
+configurations[jmh.annotationProcessorConfigurationName].extendsFrom(configurations.testAnnotationProcessor.get())
+
+dependencies {
+    val jmhVersion = "1.37"
+    jmh.implementationConfigurationName(group = "org.openjdk.jmh", name = "jmh-core", version = jmhVersion)
+    jmh.annotationProcessorConfigurationName(group = "org.openjdk.jmh", name = "jmh-generator-annprocess", version = jmhVersion)
+}
+
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
     val version = JavaVersion.VERSION_11.toString()
@@ -59,6 +76,14 @@ tasks.test {
     }
 }
 
+tasks.register(name = "jmh", type = JavaExec::class) {
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    description = "Runs JMH benchmarks; use -Pjmh.include=<regex> to filter"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    project.findProperty("jmh.include")?.let { args(it.toString()) }
+}
+
 tasks.register(name = "generateResources", type = Test::class) {
     useJUnitPlatform {
         includeTags("generator")
@@ -0,0 +1,69 @@
+package dinkplugin;
+
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.events.ChatMessage;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.inject.Inject;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link DinkPlugin#onChatMessage(ChatMessage)} dispatch overhead, with every injected dependency mocked
+ * so that the result reflects sanitization and routing rather than notifier logic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatFanOutBenchmark {
+
+    private DinkPlugin plugin;
+    private List<ChatMessage> messages;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        this.plugin = new DinkPlugin();
+        for (Field field : DinkPlugin.class.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Inject.class)) {
+                field.setAccessible(true);
+                // stub-only mocks do not record invocations, which would otherwise accumulate across iterations
+                field.set(plugin, Mockito.mock(field.getType(), Mockito.withSettings().stubOnly()));
+            }
+        }
+        plugin.init();
+
+        this.messages = GameMessageCorpus.load().stream()
+            .map(text -> {
+                ChatMessage message = new ChatMessage();
+                message.setType(ChatMessageType.GAMEMESSAGE);
+                message.setName("");
+                message.setSender(null);
+                message.setMessage(text);
+                return message;
+            })
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void onChatMessage() {
+        for (ChatMessage message : messages) {
+            plugin.onChatMessage(message);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package dinkplugin;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class GameMessageCorpus {
+
+    /**
+     * @return sanitized game messages from {@code game_messages.txt}, excluding comments
+     */
+    public List<String> load() {
+        try (InputStream is = Objects.requireNonNull(GameMessageCorpus.class.getResourceAsStream("/game_messages.txt"));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            return reader.lines()
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .collect(Collectors.toUnmodifiableList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
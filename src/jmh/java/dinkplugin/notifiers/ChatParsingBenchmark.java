@@ -0,0 +1,114 @@
+package dinkplugin.notifiers;
+
+import dinkplugin.GameMessageCorpus;
+import dinkplugin.util.QuestUtils;
+import dinkplugin.util.TimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the per-corpus cost of each chat parser, where the corpus mostly consists of irrelevant spam.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatParsingBenchmark {
+
+    private static final Pattern[] SLAYER_PATTERNS = {
+        SlayerNotifier.BOSS_REGEX,
+        SlayerNotifier.SLAYER_TASK_REGEX,
+        SlayerNotifier.SLAYER_COMPLETE_REGEX
+    };
+
+    private static final String[] QUEST_WIDGETS = {
+        "You have completed Dragon Slayer I!",
+        "You have completed the Corsair Curse!",
+        "You have helped the Lumbridge Cook... again!",
+        "You have assisted the Lumbridge Cook... again!",
+        "You have completed Another Cook's Quest!",
+        "You've been awarded the title of Hero!",
+        "You have defeated the Kendal!"
+    };
+
+    private List<String> messages;
+
+    @Setup
+    public void setup() {
+        this.messages = GameMessageCorpus.load();
+    }
+
+    @Benchmark
+    public void killCountParseBoss(Blackhole bh) {
+        for (String message : messages) {
+            bh.consume(KillCountNotifier.parseBoss(message));
+        }
+    }
+
+    @Benchmark
+    public void clueParse(Blackhole bh) {
+        for (String message : messages) {
+            bh.consume(ClueNotifier.parse(message));
+        }
+    }
+
+    @Benchmark
+    public void petParseItem(Blackhole bh) {
+        for (String message : messages) {
+            bh.consume(PetNotifier.parseItemFromGameMessage(message));
+        }
+    }
+
+    @Benchmark
+    public void petRegex(Blackhole bh) {
+        for (String message : messages) {
+            bh.consume(PetNotifier.PET_REGEX.matcher(message).matches());
+        }
+    }
+
+    @Benchmark
+    public void slayerRegexes(Blackhole bh) {
+        for (String message : messages) {
+            for (Pattern pattern : SLAYER_PATTERNS) {
+                bh.consume(pattern.matcher(message).find());
+            }
+        }
+    }
+
+    @Benchmark
+    public void combatTaskParse(Blackhole bh) {
+        for (String message : messages) {
+            bh.consume(CombatTaskNotifier.parse(message));
+        }
+    }
+
+    @Benchmark
+    public void timeParse(Blackhole bh) {
+        for (String message : messages) {
+            bh.consume(TimeUtils.parseTime(message));
+        }
+    }
+
+    @Benchmark
+    public void questParse(Blackhole bh) {
+        for (String text : QUEST_WIDGETS) {
+            bh.consume(QuestUtils.parseQuestWidget(text));
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package dinkplugin;
+
+import lombok.Synchronized;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Holds the current {@link DinkConfigSnapshot}, which is discarded whenever a setting changes
+ * and lazily rebuilt upon the next read.
+ */
+@Singleton
+public class ConfigSnapshotProvider {
+
+    private final DinkPluginConfig config;
+
+    private volatile DinkConfigSnapshot snapshot = null;
+
+    @Inject
+    public ConfigSnapshotProvider(DinkPluginConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * @return the snapshot of the current config values
+     */
+    public DinkConfigSnapshot get() {
+        DinkConfigSnapshot s = this.snapshot;
+        return s != null ? s : refresh();
+    }
+
+    /**
+     * Discards the current snapshot; should be called whenever a value in the config group changes.
+     */
+    @Synchronized
+    public void invalidate() {
+        this.snapshot = null;
+    }
+
+    @Synchronized
+    private DinkConfigSnapshot refresh() {
+        // holding the lock ensures a concurrent invalidation cannot be lost to a snapshot of older values
+        if (snapshot == null) {
+            snapshot = DinkConfigSnapshot.of(config);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,95 @@
+package dinkplugin;
+
+import dinkplugin.domain.PlayerLookupService;
+import dinkplugin.domain.SeasonalPolicy;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Value;
+
+import java.awt.Color;
+
+/**
+ * Immutable copy of the {@link DinkPluginConfig} values that are read on every notification
+ * (or every http request), so hot paths perform plain field loads rather than {@link DinkPluginConfig} proxy calls.
+ * <p>
+ * Rarely read settings should continue to be read from {@link DinkPluginConfig} directly.
+ *
+ * @see ConfigSnapshotProvider
+ */
+@Value
+@Builder(access = AccessLevel.PRIVATE)
+public class DinkConfigSnapshot {
+
+    // webhook routing
+    String primaryWebhook;
+    String leaguesWebhook;
+    SeasonalPolicy seasonalPolicy;
+
+    // networking
+    int networkTimeout;
+    int imageWriteTimeout;
+    int batchWindow;
+
+    // message enrichment
+    boolean includeLocation;
+    boolean sendDiscordUser;
+    boolean sendClanName;
+    boolean sendGroupIronClanName;
+    boolean discordRichEmbeds;
+    Color embedColor;
+    String embedFooterText;
+    String embedFooterIcon;
+    PlayerLookupService playerLookupService;
+    String screenshotFilenameTemplate;
+
+    // loot
+    boolean notifyLoot;
+    String lootWebhook;
+    boolean lootSendImage;
+    int lootImageMinValue;
+    boolean lootIcons;
+    int minLootValue;
+    int lootRarityThreshold;
+    boolean lootRarityValueIntersection;
+    boolean includePlayerLoot;
+    boolean lootIncludeGambles;
+    boolean lootIncludeClueScrolls;
+    boolean lootRedirectPlayerKill;
+    String pkWebhook;
+    String lootNotifyMessage;
+
+    public static DinkConfigSnapshot of(DinkPluginConfig config) {
+        return builder()
+            .primaryWebhook(config.primaryWebhook())
+            .leaguesWebhook(config.leaguesWebhook())
+            .seasonalPolicy(config.seasonalPolicy())
+            .networkTimeout(config.networkTimeout())
+            .imageWriteTimeout(config.imageWriteTimeout())
+            .batchWindow(config.batchWindow())
+            .includeLocation(config.includeLocation())
+            .sendDiscordUser(config.sendDiscordUser())
+            .sendClanName(config.sendClanName())
+            .sendGroupIronClanName(config.sendGroupIronClanName())
+            .discordRichEmbeds(config.discordRichEmbeds())
+            .embedColor(config.embedColor())
+            .embedFooterText(config.embedFooterText())
+            .embedFooterIcon(config.embedFooterIcon())
+            .playerLookupService(config.playerLookupService())
+            .screenshotFilenameTemplate(config.screenshotFilenameTemplate())
+            .notifyLoot(config.notifyLoot())
+            .lootWebhook(config.lootWebhook())
+            .lootSendImage(config.lootSendImage())
+            .lootImageMinValue(config.lootImageMinValue())
+            .lootIcons(config.lootIcons())
+            .minLootValue(config.minLootValue())
+            .lootRarityThreshold(config.lootRarityThreshold())
+            .lootRarityValueIntersection(config.lootRarityValueIntersection())
+            .includePlayerLoot(config.includePlayerLoot())
+            .lootIncludeGambles(config.lootIncludeGambles())
+            .lootIncludeClueScrolls(config.lootIncludeClueScrolls())
+            .lootRedirectPlayerKill(config.lootRedirectPlayerKill())
+            .pkWebhook(config.pkWebhook())
+            .lootNotifyMessage(config.lootNotifyMessage())
+            .build();
+    }
+}
@@ -1,6 +1,7 @@
 package dinkplugin;
 
 import com.google.inject.Provides;
+import dinkplugin.message.DiscordMessageHandler;
 import dinkplugin.notifiers.ChatNotifier;
 import dinkplugin.notifiers.ClueNotifier;
 import dinkplugin.notifiers.CollectionNotifier;
@@ -24,7 +25,11 @@ import dinkplugin.notifiers.TradeNotifier;
 import dinkplugin.notifiers.LeaguesNotifier;
 import dinkplugin.util.AccountTypeTracker;
 import dinkplugin.util.AmascutTracker;
+import dinkplugin.util.ChatRouter;
+import dinkplugin.util.DinkMetrics;
+import dinkplugin.util.ItemUtils;
 import dinkplugin.util.KillCountService;
+import dinkplugin.util.TickScheduler;
 import dinkplugin.util.Utils;
 import dinkplugin.util.WorldTypeTracker;
 import lombok.extern.slf4j.Slf4j;
@@ -51,6 +56,7 @@ import net.runelite.client.RuneLite;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.chat.QueuedMessage;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.config.RuneLiteConfig;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.events.NotificationFired;
@@ -58,6 +64,7 @@ import net.runelite.client.events.NpcLootReceived;
 import net.runelite.client.events.PlayerLootReceived;
 import net.runelite.client.events.PluginMessage;
 import net.runelite.client.events.ProfileChanged;
+import net.runelite.client.events.RuneScapeProfileChanged;
 import net.runelite.client.events.ServerNpcLoot;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
@@ -80,14 +87,18 @@ public class DinkPlugin extends Plugin {
     public static final String USER_AGENT = RuneLite.USER_AGENT + " (Dink/1.x)";
 
     private @Inject ChatMessageManager chatManager;
+    private @Inject DinkPluginConfig config;
 
     private @Inject SettingsManager settingsManager;
+    private @Inject ConfigSnapshotProvider configSnapshot;
     private @Inject VersionManager versionManager;
     private @Inject AccountTypeTracker accountTracker;
     private @Inject AmascutTracker amascutTracker;
     private @Inject WorldTypeTracker worldTracker;
+    private @Inject DiscordMessageHandler messageHandler;
 
     private @Inject KillCountService killCountService;
+    private @Inject DinkMetrics metrics;
 
     private @Inject CollectionNotifier collectionNotifier;
     private @Inject PetNotifier petNotifier;
@@ -114,6 +125,8 @@ public class DinkPlugin extends Plugin {
     private final AtomicReference<GameState> gameState = new AtomicReference<>();
 
     private Map<String, Runnable> configDisabledTasks;
+    private ChatRouter gameMessageRouter;
+    private TickScheduler tickScheduler;
 
     @Inject
     protected void init() {
@@ -124,6 +137,42 @@ public class DinkPlugin extends Plugin {
             "levelEnabled", levelNotifier::reset,
             "speedrunEnabled", speedrunNotifier::reset
         );
+
+        // scan each game message once, rather than running every notifier's patterns
+        this.gameMessageRouter = ChatRouter.builder()
+            .route(collectionNotifier::onChatMessage, CollectionNotifier.CHAT_KEYWORDS)
+            .route(lootNotifier::onGameMessage, LootNotifier.CHAT_KEYWORDS)
+            .always(petNotifier::onChatMessage) // parses item names from arbitrary messages once primed
+            .route(killCountService::onGameMessage, KillCountService.CHAT_KEYWORDS)
+            .route(slayerNotifier::onChatMessage, SlayerNotifier.CHAT_KEYWORDS)
+            .route(clueNotifier::onChatMessage, ClueNotifier.CHAT_KEYWORDS)
+            .route(killCountNotifier::onGameMessage, KillCountNotifier.CHAT_KEYWORDS)
+            .route(combatTaskNotifier::onGameMessage, CombatTaskNotifier.CHAT_KEYWORDS)
+            .route(deathNotifier::onGameMessage, DeathNotifier.CHAT_KEYWORDS)
+            .route(speedrunNotifier::onGameMessage, SpeedrunNotifier.CHAT_KEYWORDS)
+            .route(leaguesNotifier::onGameMessage, LeaguesNotifier.CHAT_KEYWORDS)
+            .build();
+
+        // only tick components with pending work, postponing lazy initialization on expensive ticks
+        this.tickScheduler = TickScheduler.builder()
+            .urgent("settings", settingsManager)
+            .urgent("accountTracker", accountTracker)
+            .urgent("amascutTracker", amascutTracker)
+            .urgent("worldTracker", worldTracker)
+            .urgent("collection", collectionNotifier)
+            .urgent("pet", petNotifier)
+            .urgent("clue", clueNotifier)
+            .urgent("slayer", slayerNotifier)
+            .urgent("level", levelNotifier)
+            .deferrable("combatTask", combatTaskNotifier)
+            .urgent("diary", diaryNotifier)
+            .urgent("killCount", killCountNotifier)
+            .urgent("playerKill", pkNotifier)
+            .urgent("grandExchange", grandExchangeNotifier)
+            .deferrable("chat", chatNotifier)
+            .urgent("meta", metaNotifier)
+            .build();
+        metrics.gauge("ticks", tickScheduler::getTimings);
     }
 
     @Override
@@ -133,10 +182,14 @@ public class DinkPlugin extends Plugin {
         versionManager.onStart();
         accountTracker.init();
         worldTracker.init();
+        messageHandler.init();
+        killCountService.onProfileChanged();
+        collectionNotifier.init();
         lootNotifier.init();
         deathNotifier.init();
         chatNotifier.init();
         leaguesNotifier.init();
+        metrics.setDumpInterval(config.statsDumpInterval());
     }
 
     @Override
@@ -147,6 +200,9 @@ public class DinkPlugin extends Plugin {
         accountTracker.clear();
         worldTracker.clear();
         metaNotifier.reset();
+        killCountService.reset();
+        messageHandler.shutDown();
+        metrics.setDumpInterval(0);
     }
 
     void resetNotifiers() {
@@ -183,17 +239,29 @@ public class DinkPlugin extends Plugin {
 
     @Subscribe
     public void onConfigChanged(ConfigChanged event) {
+        if (RuneLiteConfig.GROUP_NAME.equals(event.getGroup()) && "useWikiItemPrices".equals(event.getKey())) {
+            ItemUtils.invalidatePrices();
+            return;
+        }
+
         if (!SettingsManager.CONFIG_GROUP.equals(event.getGroup())) {
             return;
         }
 
+        configSnapshot.invalidate(); // before other handlers, so they observe the new value
         settingsManager.onConfigChanged(event);
         accountTracker.onConfig(event.getKey());
         worldTracker.onConfig(event.getKey());
+        messageHandler.onConfigChanged(event.getKey(), event.getNewValue());
         lootNotifier.onConfigChanged(event.getKey(), event.getNewValue());
+        collectionNotifier.onConfigChanged(event.getKey(), event.getNewValue());
         deathNotifier.onConfigChanged(event.getKey(), event.getNewValue());
         chatNotifier.onConfig(event.getKey());
 
+        if ("statsDumpInterval".equals(event.getKey())) {
+            metrics.setDumpInterval(config.statsDumpInterval());
+        }
+
         if ("false".equals(event.getNewValue())) {
             Runnable task = configDisabledTasks.get(event.getKey());
             if (task != null) task.run();
@@ -231,76 +299,66 @@ public class DinkPlugin extends Plugin {
 
     @Subscribe
     public void onStatChanged(StatChanged statChange) {
-        levelNotifier.onStatChanged(statChange);
+        long start = metrics.beginEvent();
+        try {
+            levelNotifier.onStatChanged(statChange);
+        } finally {
+            metrics.endEvent("statChanged", start);
+        }
     }
 
     @Subscribe
     public void onGameTick(GameTick event) {
-        settingsManager.onTick();
-        accountTracker.onTick();
-        amascutTracker.onTick();
-        worldTracker.onTick();
-        collectionNotifier.onTick();
-        petNotifier.onTick();
-        clueNotifier.onTick();
-        slayerNotifier.onTick();
-        levelNotifier.onTick();
-        combatTaskNotifier.onTick();
-        diaryNotifier.onTick();
-        killCountNotifier.onTick();
-        pkNotifier.onTick();
-        grandExchangeNotifier.onTick();
-        chatNotifier.onTick();
-        metaNotifier.onTick();
+        long start = metrics.beginEvent();
+        try {
+            tickScheduler.onTick();
+        } finally {
+            metrics.endEvent("gameTick", start);
+        }
     }
 
     @Subscribe(priority = 1) // run before the base loot tracker plugin
     public void onChatMessage(ChatMessage message) {
-        String chatMessage = Utils.sanitize(message.getMessage());
-        String source = message.getName() != null && !message.getName().isEmpty() ? message.getName() : message.getSender();
-        chatNotifier.onMessage(message.getType(), source, chatMessage);
-        switch (message.getType()) {
-            case GAMEMESSAGE:
-                if ("runelite".equals(source)) {
-                    // filter out plugin-sourced chat messages
-                    return;
-                }
-
-                collectionNotifier.onChatMessage(chatMessage);
-                lootNotifier.onGameMessage(chatMessage);
-                petNotifier.onChatMessage(chatMessage);
-                killCountService.onGameMessage(chatMessage);
-                slayerNotifier.onChatMessage(chatMessage);
-                clueNotifier.onChatMessage(chatMessage);
-                killCountNotifier.onGameMessage(chatMessage);
-                combatTaskNotifier.onGameMessage(chatMessage);
-                deathNotifier.onGameMessage(chatMessage);
-                speedrunNotifier.onGameMessage(chatMessage);
-                leaguesNotifier.onGameMessage(chatMessage);
-                break;
-
-            case FRIENDSCHATNOTIFICATION:
-                killCountNotifier.onFriendsChatNotification(chatMessage);
-                // intentional fallthrough to clan notifications
-
-            case CLAN_MESSAGE:
-            case CLAN_GUEST_MESSAGE:
-            case CLAN_GIM_MESSAGE:
-                petNotifier.onClanNotification(chatMessage);
-                break;
-
-            case MESBOX:
-                diaryNotifier.onMessageBox(chatMessage);
-                gambleNotifier.onMesBoxNotification(chatMessage);
-                break;
-
-            case TRADE:
-                tradeNotifier.onTradeMessage(chatMessage);
-                break;
-
-            default:
-                // do nothing
-                break;
+        long start = metrics.beginEvent();
+        try {
+            String chatMessage = Utils.sanitize(message.getMessage());
+            String source = message.getName() != null && !message.getName().isEmpty() ? message.getName() : message.getSender();
+            chatNotifier.onMessage(message.getType(), source, chatMessage);
+            switch (message.getType()) {
+                case GAMEMESSAGE:
+                    if ("runelite".equals(source)) {
+                        // filter out plugin-sourced chat messages
+                        return;
+                    }
+
+                    gameMessageRouter.accept(chatMessage);
+                    break;
+
+                case FRIENDSCHATNOTIFICATION:
+                    killCountNotifier.onFriendsChatNotification(chatMessage);
+                    // intentional fallthrough to clan notifications
+
+                case CLAN_MESSAGE:
+                case CLAN_GUEST_MESSAGE:
+                case CLAN_GIM_MESSAGE:
+                    petNotifier.onClanNotification(chatMessage);
+                    break;
+
+                case MESBOX:
+                    diaryNotifier.onMessageBox(chatMessage);
+                    gambleNotifier.onMesBoxNotification(chatMessage);
+                    break;
+
+                case TRADE:
+                    tradeNotifier.onTradeMessage(chatMessage);
+                    break;
+
+                default:
+                    // do nothing
+                    break;
+            }
+        } finally {
+            metrics.endEvent("chatMessage", start);
         }
     }
 
@@ -316,7 +374,12 @@ public class DinkPlugin extends Plugin {
 
     @Subscribe
     public void onActorDeath(ActorDeath actor) {
-        deathNotifier.onActorDeath(actor);
+        long start = metrics.beginEvent();
+        try {
+            deathNotifier.onActorDeath(actor);
+        } finally {
+            metrics.endEvent("actorDeath", start);
+        }
     }
 
     @Subscribe
@@ -333,43 +396,69 @@ public class DinkPlugin extends Plugin {
 
     @Subscribe(priority = 1) // run before the base loot tracker plugin
     public void onServerNpcLoot(ServerNpcLoot event) {
-        // temporarily only use new event when needed
-        int npcId = event.getComposition().getId();
-        var name = event.getComposition().getName();
-        if (!LootNotifier.SERVER_LOOT_NPC_IDS.contains(npcId) && !name.startsWith("Hallowed Sepulchre")) {
-            return;
+        long start = metrics.beginEvent();
+        try {
+            // temporarily only use new event when needed
+            int npcId = event.getComposition().getId();
+            var name = event.getComposition().getName();
+            if (!LootNotifier.SERVER_LOOT_NPC_IDS.contains(npcId) && !name.startsWith("Hallowed Sepulchre")) {
+                return;
+            }
+
+            killCountService.onServerNpcLoot(event);
+            lootNotifier.onServerNpcLoot(event);
+        } finally {
+            metrics.endEvent("serverNpcLoot", start);
         }
-
-        killCountService.onServerNpcLoot(event);
-        lootNotifier.onServerNpcLoot(event);
     }
 
     @Subscribe(priority = 1) // run before the base loot tracker plugin
     public void onNpcLootReceived(NpcLootReceived npcLootReceived) {
-        if (LootNotifier.SERVER_LOOT_NPC_IDS.contains(npcLootReceived.getNpc().getId())) {
-            // handled by ServerNpcLoot, but return just in case
-            return;
+        long start = metrics.beginEvent();
+        try {
+            if (LootNotifier.SERVER_LOOT_NPC_IDS.contains(npcLootReceived.getNpc().getId())) {
+                // handled by ServerNpcLoot, but return just in case
+                return;
+            }
+
+            killCountService.onNpcKill(npcLootReceived);
+            lootNotifier.onNpcLootReceived(npcLootReceived);
+        } finally {
+            metrics.endEvent("npcLootReceived", start);
         }
-
-        killCountService.onNpcKill(npcLootReceived);
-        lootNotifier.onNpcLootReceived(npcLootReceived);
     }
 
     @Subscribe
     public void onPlayerLootReceived(PlayerLootReceived playerLootReceived) {
-        killCountService.onPlayerKill(playerLootReceived);
-        lootNotifier.onPlayerLootReceived(playerLootReceived);
+        long start = metrics.beginEvent();
+        try {
+            killCountService.onPlayerKill(playerLootReceived);
+            lootNotifier.onPlayerLootReceived(playerLootReceived);
+        } finally {
+            metrics.endEvent("playerLootReceived", start);
+        }
     }
 
     @Subscribe
     public void onProfileChanged(ProfileChanged event) {
+        configSnapshot.invalidate();
         versionManager.onProfileChange();
     }
 
+    @Subscribe
+    public void onRuneScapeProfileChanged(RuneScapeProfileChanged event) {
+        killCountService.onProfileChanged();
+    }
+
     @Subscribe
     public void onLootReceived(LootReceived lootReceived) {
-        killCountService.onLoot(lootReceived);
-        lootNotifier.onLootReceived(lootReceived);
+        long start = metrics.beginEvent();
+        try {
+            killCountService.onLoot(lootReceived);
+            lootNotifier.onLootReceived(lootReceived);
+        } finally {
+            metrics.endEvent("lootReceived", start);
+        }
     }
 
     @Subscribe
@@ -279,6 +279,21 @@ public interface DinkPluginConfig extends Config {
         return 100;
     }
 
+    @ConfigItem(
+        keyName = "screenshotMaxSize",
+        name = "Max Screenshot Size",
+        description = "Compresses screenshots to fit within the specified number of kilobytes.<br/>" +
+            "Lower values reduce bandwidth (e.g., 1000 for mobile viewers) at the cost of image quality.<br/>" +
+            "Set to 0 to only abide by Discord's max upload size of 8MB",
+        position = 1003,
+        section = advancedSection
+    )
+    @Units(" KB")
+    @Range(max = 8000)
+    default int screenshotMaxSize() {
+        return 0;
+    }
+
     @ConfigItem(
         keyName = "discordRichEmbeds",
         name = "Use Rich Embeds",
@@ -589,6 +604,47 @@ public interface DinkPluginConfig extends Config {
         return ""; // user:pass
     }
 
+    @ConfigItem(
+        keyName = "webhookOutbox",
+        name = "Persist Undelivered Webhooks",
+        description = "Whether webhook messages should be saved to disk until they are delivered.<br/>" +
+            "Messages that could not reach the webhook server are resent when the plugin next starts",
+        position = 1026,
+        section = advancedSection
+    )
+    default boolean webhookOutbox() {
+        return false;
+    }
+
+    @ConfigItem(
+        keyName = "batchWindow",
+        name = "Batch Discord Messages",
+        description = "Combines rich embed notifications that occur within the specified number of ticks into a single Discord message.<br/>" +
+            "Reduces rate limiting during bursts (e.g., raid completions). Set to 0 to send each notification separately.<br/>" +
+            "Does not apply to custom (non-Discord) webhook handlers",
+        position = 1027,
+        section = advancedSection
+    )
+    @Units(Units.TICKS)
+    @Range(max = 5)
+    default int batchWindow() {
+        return 0;
+    }
+
+    @ConfigItem(
+        keyName = "statsDumpInterval",
+        name = "Stats Dump Interval",
+        description = "Periodically writes Dink's performance statistics to .runelite/dink/stats.json, for diagnosing client stutter.<br/>" +
+            "The statistics can also be copied at any time with the ::DinkStats chat command. Set to 0 to disable",
+        position = 1028,
+        section = advancedSection
+    )
+    @Units(Units.MINUTES)
+    @Range(max = 60)
+    default int statsDumpInterval() {
+        return 0;
+    }
+
     @ConfigItem(
         keyName = "discordWebhook", // do not rename; would break old configs
         name = "Primary Webhook URLs",
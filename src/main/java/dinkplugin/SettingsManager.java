@@ -14,7 +14,10 @@ import dinkplugin.notifiers.KillCountNotifier;
 import dinkplugin.notifiers.PetNotifier;
 import dinkplugin.util.ConfigProxyAuth;
 import dinkplugin.util.ConfigProxyServer;
+import dinkplugin.util.DinkMetrics;
+import dinkplugin.util.DynamicConfigCache;
 import dinkplugin.util.MigrationUtil;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import dinkplugin.util.WorldUtils;
 import lombok.Synchronized;
@@ -68,7 +71,7 @@ import static dinkplugin.util.ConfigUtil.*;
 
 @Slf4j
 @Singleton
-public class SettingsManager {
+public class SettingsManager implements TickListener {
     public static final String CONFIG_GROUP = "dinkplugin";
     public static final String DYNAMIC_IMPORT_CONFIG_KEY = "dynamicConfigUrl";
 
@@ -110,12 +113,14 @@ public class SettingsManager {
     private final DinkPluginConfig config;
     private final ConfigManager configManager;
     private final OkHttpClient httpClient;
+    private final DynamicConfigCache dynamicConfigCache;
+    private final DinkMetrics metrics;
 
     private volatile Instant lastDynamicImport = null;
 
     @Inject
     @VisibleForTesting
-    public SettingsManager(Gson gson, Client client, ClientThread clientThread, DinkPlugin plugin, DinkPluginConfig config, ConfigManager configManager, OkHttpClient httpClient) {
+    public SettingsManager(Gson gson, Client client, ClientThread clientThread, DinkPlugin plugin, DinkPluginConfig config, ConfigManager configManager, OkHttpClient httpClient, DynamicConfigCache dynamicConfigCache, DinkMetrics metrics) {
         this.gson = gson;
         this.client = client;
         this.clientThread = clientThread;
@@ -126,6 +131,8 @@ public class SettingsManager {
             .proxySelector(new ConfigProxyServer(config))
             .proxyAuthenticator(new ConfigProxyAuth(config))
             .build();
+        this.dynamicConfigCache = dynamicConfigCache;
+        this.metrics = metrics;
     }
 
     /**
@@ -218,6 +225,14 @@ public class SettingsManager {
                     plugin.addChatWarning("Failed to copy your dink hash to clipboard");
                     return null;
                 });
+        } else if ("DinkStats".equalsIgnoreCase(cmd)) {
+            CompletableFuture.supplyAsync(metrics::toJson)
+                .thenCompose(Utils::copyToClipboard)
+                .thenRun(() -> plugin.addChatSuccess("Copied Dink performance stats to clipboard"))
+                .exceptionally(t -> {
+                    plugin.addChatWarning("Failed to copy Dink performance stats to clipboard");
+                    return null;
+                });
         } else if ("DinkRegion".equalsIgnoreCase(cmd)) {
             int regionId = WorldUtils.getLocation(client).getRegionID();
             plugin.addChatSuccess(String.format("Your current region ID is: %d", regionId));
@@ -346,11 +361,17 @@ public class SettingsManager {
         }
     }
 
-    void onTick() {
+    @Override
+    public void onTick() {
         // indicate when we've been logged in for more than a single tick
         justLoggedIn.compareAndSet(client.getGameState() == GameState.LOGGED_IN, false);
     }
 
+    @Override
+    public boolean isTickPending() {
+        return justLoggedIn.get();
+    }
+
     void onVarbitChanged(VarbitChanged event) {
         int id = event.getVarbitId();
         if (PROBLEMATIC_VARBITS.contains(id))
@@ -438,10 +459,27 @@ public class SettingsManager {
             return;
         }
 
-        Request request = new Request.Builder().url(httpUrl).cacheControl(CacheControl.FORCE_NETWORK).build();
-        httpClient.newCall(request).enqueue(new Callback() {
+        // conditional request, so an unchanged config need not be downloaded again
+        String profile = configManager.getRSProfileKey();
+        DynamicConfigCache.Entry cached = dynamicConfigCache.get(profile, url);
+        Request.Builder builder = new Request.Builder().url(httpUrl).cacheControl(CacheControl.FORCE_NETWORK);
+        if (cached != null) {
+            if (cached.getEtag() != null) builder.header("If-None-Match", cached.getEtag());
+            if (cached.getLastModified() != null) builder.header("If-Modified-Since", cached.getLastModified());
+        }
+
+        httpClient.newCall(builder.build()).enqueue(new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) {
+                if (response.code() == 304 && cached != null) {
+                    response.close();
+                    log.debug("Dynamic config is unchanged since last import");
+                    // settings may have been edited locally since, so re-apply (unchanged values are skipped)
+                    handleImport(cached.getValues(), true);
+                    lastDynamicImport = Instant.now();
+                    return;
+                }
+
                 ResponseBody body = response.body();
                 if (body == null) {
                     plugin.addChatWarning("The specified Dynamic Config URL did not provide any settings to import");
@@ -463,6 +501,7 @@ public class SettingsManager {
                 map.remove(DYNAMIC_IMPORT_CONFIG_KEY);
 
                 handleImport(map, true);
+                dynamicConfigCache.put(profile, new DynamicConfigCache.Entry(url, response.header("ETag"), response.header("Last-Modified"), map));
                 lastDynamicImport = Instant.now();
             }
 
@@ -10,6 +10,16 @@ import lombok.Setter;
 @Data
 @Setter(AccessLevel.PRIVATE)
 class DiscordErrorMessage {
+    /**
+     * "Webhooks posted to forum channels must have a thread_name or thread_id"
+     */
+    static final int THREAD_NAME_REQUIRED = 220001;
+
+    /**
+     * "Webhooks can only create threads in forum channels"
+     */
+    static final int THREAD_NOT_ALLOWED = 220003;
+
     /**
      * @see <a href="https://discord.com/developers/docs/topics/opcodes-and-status-codes#json">Possible Error Codes</a>
      */
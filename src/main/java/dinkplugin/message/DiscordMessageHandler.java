@@ -1,8 +1,11 @@
 package dinkplugin.message;
 
 import com.google.gson.Gson;
+import dinkplugin.ConfigSnapshotProvider;
+import dinkplugin.DinkConfigSnapshot;
 import dinkplugin.DinkPlugin;
 import dinkplugin.DinkPluginConfig;
+import dinkplugin.domain.ChatPrivacyMode;
 import dinkplugin.domain.PlayerLookupService;
 import dinkplugin.domain.SeasonalPolicy;
 import dinkplugin.message.templating.Replacements;
@@ -11,12 +14,16 @@ import dinkplugin.notifiers.data.NotificationData;
 import dinkplugin.util.ConfigProxyAuth;
 import dinkplugin.util.ConfigProxyServer;
 import dinkplugin.util.ConfigUtil;
+import dinkplugin.util.DinkMetrics;
 import dinkplugin.util.DiscordProfile;
+import dinkplugin.util.ScreenshotEncoder;
 import dinkplugin.util.Utils;
 import dinkplugin.util.WorldUtils;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.Constants;
 import net.runelite.api.clan.ClanChannel;
 import net.runelite.api.clan.ClanID;
 import net.runelite.client.callback.ClientThread;
@@ -35,26 +42,20 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
-import javax.imageio.ImageIO;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.awt.Image;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -68,45 +69,62 @@ import java.util.stream.Collectors;
 @Singleton
 public class DiscordMessageHandler {
 
-    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
     private static final Collection<String> NO_IMAGE_ENDPOINTS = Set.of(
         "revolt.chat", "api.revolt.chat", "local.revolt.chat",
         "stoat.chat", "api.stoat.chat", "local.stoat.chat",
         "api.fluxer.app"
     );
+    private static final Collection<String> DISCORD_HOSTS = Set.of(
+        "discord.com", "ptb.discord.com", "canary.discord.com", "discordapp.com"
+    );
 
     private final Gson gson;
     private final Client client;
     private final DrawManager drawManager;
     private final OkHttpClient httpClient;
     private final DinkPluginConfig config;
+    private final ConfigSnapshotProvider configSnapshot;
     private final ScheduledExecutorService executor;
     private final ClientThread clientThread;
     private final DiscordService discordService;
     private final ImageCapture imageCapture;
+    private final WebhookOutbox outbox;
+    private final WebhookRateLimiter rateLimiter;
+    private final MessageBatcher batcher;
+    private final DinkMetrics metrics;
+    private final ScreenshotEncoder screenshotEncoder = new ScreenshotEncoder();
+    private final Object screenshotLock = new Object();
+    private ScreenshotKey pendingScreenshotKey;
+    private CompletableFuture<RequestBody> pendingScreenshot;
 
     @Inject
     @VisibleForTesting
-    public DiscordMessageHandler(Gson gson, Client client, DrawManager drawManager, OkHttpClient httpClient, DinkPluginConfig config, ScheduledExecutorService executor, ClientThread clientThread, DiscordService discordService, ImageCapture imageCapture) {
+    public DiscordMessageHandler(Gson gson, Client client, DrawManager drawManager, OkHttpClient httpClient, DinkPluginConfig config, ConfigSnapshotProvider configSnapshot, ScheduledExecutorService executor, ClientThread clientThread, DiscordService discordService, ImageCapture imageCapture, WebhookOutbox outbox, WebhookRateLimiter rateLimiter, DinkMetrics metrics) {
         this.gson = gson;
         this.client = client;
         this.drawManager = drawManager;
         this.config = config;
+        this.configSnapshot = configSnapshot;
         this.executor = executor;
         this.clientThread = clientThread;
         this.discordService = discordService;
         this.imageCapture = imageCapture;
+        this.outbox = outbox;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        this.batcher = new MessageBatcher(gson, executor, this::dispatch);
         this.httpClient = httpClient.newBuilder()
             .addInterceptor(chain -> {
                 Request request = chain.request().newBuilder()
                     .header("User-Agent", DinkPlugin.USER_AGENT)
                     .build();
+                DinkConfigSnapshot cfg = configSnapshot.get();
                 Interceptor.Chain updatedChain = chain
-                    .withConnectTimeout(config.networkTimeout(), TimeUnit.SECONDS)
-                    .withReadTimeout(config.networkTimeout(), TimeUnit.SECONDS);
+                    .withConnectTimeout(cfg.getNetworkTimeout(), TimeUnit.SECONDS)
+                    .withReadTimeout(cfg.getNetworkTimeout(), TimeUnit.SECONDS);
                 // Allow longer timeout when writing a screenshot file to overcome slow internet speeds
-                if (request.body() instanceof MultipartBody && Utils.hasImage((MultipartBody) request.body())) {
-                    updatedChain = chain.withWriteTimeout(Math.max(config.imageWriteTimeout(), 0), TimeUnit.SECONDS);
+                if (isImageUpload(request.body())) {
+                    updatedChain = chain.withWriteTimeout(Math.max(cfg.getImageWriteTimeout(), 0), TimeUnit.SECONDS);
                 }
                 return updatedChain.proceed(request);
             })
@@ -132,6 +150,28 @@ public class DiscordMessageHandler {
             .proxySelector(new ConfigProxyServer(config))
             .proxyAuthenticator(new ConfigProxyAuth(config))
             .build();
+        metrics.gauge("webhook.queueDepth", rateLimiter::getQueueDepth);
+        metrics.gauge("webhook.routes", rateLimiter::getStats);
+    }
+
+    public void init() {
+        if (config.webhookOutbox()) {
+            executor.execute(this::replayOutbox);
+        }
+    }
+
+    public void shutDown() {
+        outbox.close();
+    }
+
+    public void onConfigChanged(String key, String value) {
+        if ("webhookOutbox".equals(key)) {
+            if ("true".equals(value)) {
+                executor.execute(this::replayOutbox);
+            } else {
+                outbox.close();
+            }
+        }
     }
 
     public void createMessage(String webhookUrl, boolean sendImage, @NonNull NotificationBody<?> inputBody) {
@@ -148,14 +188,7 @@ public class DiscordMessageHandler {
         NotificationBody<?> mBody = enrichBody(inputBody, sendImage);
         if (sendImage) {
             // optionally hide chat for privacy in screenshot
-            captureScreenshot(config.screenshotScale() / 100.0, mBody.getScreenshotOverride())
-                .thenApply(image ->
-                    RequestBody.create(MediaType.parse("image/" + image.getKey()), image.getValue())
-                )
-                .exceptionally(e -> {
-                    log.warn("There was an error creating bytes from captured image", e);
-                    return null;
-                })
+            captureScreenshot(mBody.getScreenshotOverride())
                 .thenAccept(image -> sendToMultiple(urlList, mBody, image));
         } else {
             sendToMultiple(urlList, mBody, null);
@@ -163,13 +196,34 @@ public class DiscordMessageHandler {
     }
 
     private void sendToMultiple(Collection<HttpUrl> urls, NotificationBody<?> body, @Nullable RequestBody image) {
+        // serialize each variant of the body once, rather than once per url (and retry attempt)
+        DinkConfigSnapshot cfg = configSnapshot.get();
+        PayloadCache payloads = new PayloadCache(
+            gson,
+            image,
+            image != null ? computeScreenshotName(cfg.getScreenshotFilenameTemplate(), body) : null,
+            () -> computeThreadName(body)
+        );
         urls.forEach(url -> {
-            RequestBody img = image == null || NO_IMAGE_ENDPOINTS.contains(url.host()) ? null : image;
-            executor.execute(() -> sendMessage(url, injectThreadName(url, body, false), img, 0));
+            boolean img = image != null && !NO_IMAGE_ENDPOINTS.contains(url.host());
+            executor.execute(() -> {
+                NotificationBody<?> threadedBody = injectThreadName(url, body, payloads, false);
+                // custom webhook handlers expect one notification per request, so only discord messages are coalesced
+                int batchTicks = cfg.getBatchWindow();
+                if (batchTicks > 0 && DISCORD_HOSTS.contains(url.host()) && MessageBatcher.isBatchable(threadedBody)) {
+                    batcher.offer(url, threadedBody, payloads, img, batchTicks * Constants.GAME_TICK_LENGTH);
+                } else {
+                    dispatch(url, threadedBody, payloads, img);
+                }
+            });
         });
     }
 
-    private void sendMessage(HttpUrl url, NotificationBody<?> mBody, @Nullable RequestBody image, int attempt) {
+    private void dispatch(HttpUrl url, NotificationBody<?> body, PayloadCache payloads, boolean image) {
+        sendMessage(url, body, payloads, image, persist(url, body, payloads, image), 0);
+    }
+
+    private void sendMessage(HttpUrl url, NotificationBody<?> mBody, PayloadCache payloads, boolean image, @Nullable WebhookOutbox.Entry entry, int attempt) {
         BiConsumer<NotificationBody<?>, Throwable> retry = (body, e) -> {
             String urlString = url.toString();
             String censoredUrl = Utils.truncate(urlString, urlString.length() / 2) +
@@ -185,9 +239,19 @@ public class DiscordMessageHandler {
             if (attempt < maxRetries) {
                 long baseDelay = config.baseRetryDelay();
                 if (baseDelay > 0) {
-                    long delay = baseDelay * (1L << Math.min(attempt, 16)); // exponential backoff
-                    executor.schedule(() -> sendMessage(url, body, image, attempt + 1), delay, TimeUnit.MILLISECONDS);
+                    // rate limited requests are already deferred by the limiter until the bucket resets
+                    long delay = e instanceof RateLimitedException ? 0L : baseDelay * (1L << Math.min(attempt, 16)); // exponential backoff
+                    WebhookOutbox.Entry next = entry;
+                    if (body != mBody) {
+                        // the journal entry only applies to the originally persisted body
+                        outbox.acknowledge(entry);
+                        next = persist(url, body, payloads, image);
+                    }
+                    WebhookOutbox.Entry nextEntry = next;
+                    metrics.increment("webhook.retries");
+                    executor.schedule(() -> sendMessage(url, body, payloads, image, nextEntry, attempt + 1), delay, TimeUnit.MILLISECONDS);
                     log.debug("Scheduled webhook message for retry in {} milliseconds", delay);
+                    return;
                 } else {
                     log.debug("Skipping retry attempts for failed webhook since base delay is not positive");
                 }
@@ -196,23 +260,35 @@ public class DiscordMessageHandler {
             } else {
                 log.debug("Skipping retry attempts for failed webhook since max retries is not positive");
             }
+
+            // only keep the message for the next session if the webhook server could not be reached
+            if (!(e instanceof IOException)) {
+                outbox.acknowledge(entry);
+            }
         };
 
+        // fall back to the in-memory payload if the journal was re-opened (i.e., compacted) since this entry was written
+        RequestBody requestBody = entry != null && outbox.isCurrent(entry) ? entry.body() : payloads.createBody(mBody, image);
+        recordPayloadSize(requestBody);
         Request request = new Request.Builder()
             .url(url)
-            .post(createBody(mBody, image))
+            .post(requestBody)
             .build();
 
-        httpClient.newCall(request).enqueue(new Callback() {
+        Callback callback = new Callback() {
             @Override
             public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                metrics.increment("http." + url.host() + ".failures");
                 retry.accept(mBody, e);
             }
 
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
+                recordLatency(url, response);
+                boolean rateLimited = rateLimiter.update(url, response);
                 if (response.isSuccessful()) {
                     log.trace("Successfully sent webhook message to {} after {} attempts", url, attempt + 1);
+                    outbox.acknowledge(entry);
 
                     if (response.body() != null) {
                         response.close();
@@ -220,31 +296,187 @@ public class DiscordMessageHandler {
                 } else {
                     String body = response.body() != null ? response.body().string() : null;
 
-                    // Update thread_name to comply with discord forum channel specification
-                    if (response.code() == 400 && "application/json".equals(response.header("Content-Type"))) {
-                        DiscordErrorMessage error = gson.fromJson(body, DiscordErrorMessage.class);
-
-                        // "Webhooks posted to forum channels must have a thread_name or thread_id"
-                        if (error.getCode() == 220001) {
-                            retry.accept(
-                                injectThreadName(url, mBody, true),
-                                new RuntimeException(error.getMessage())
-                            );
-                            return;
-                        }
+                    if (rateLimited) {
+                        metrics.increment("webhook.rateLimited");
+                        retry.accept(mBody, new RateLimitedException(body));
+                        return;
+                    }
 
-                        // "Webhooks can only create threads in forum channels"
-                        if (error.getCode() == 220003) {
-                            retry.accept(mBody.withThreadName(null), new RuntimeException(error.getMessage()));
-                            return;
-                        }
+                    // Update thread_name to comply with discord forum channel specification
+                    DiscordErrorMessage error = getThreadError(response, body);
+                    if (error != null) {
+                        NotificationBody<?> fixed = error.getCode() == DiscordErrorMessage.THREAD_NAME_REQUIRED
+                            ? injectThreadName(url, mBody, payloads, true)
+                            : mBody.withThreadName(null);
+                        retry.accept(fixed, new RuntimeException(error.getMessage()));
+                        return;
                     }
 
                     // retry with no change to NotificationBody
                     retry.accept(mBody, new RuntimeException(String.format("Received unsuccessful http response: %d - %s - %s", response.code(), response.message(), body)));
                 }
             }
-        });
+        };
+
+        rateLimiter.submit(url, () -> httpClient.newCall(request).enqueue(callback));
+    }
+
+    @Nullable
+    private WebhookOutbox.Entry persist(HttpUrl url, NotificationBody<?> body, PayloadCache payloads, boolean image) {
+        if (!config.webhookOutbox()) return null;
+        try {
+            return outbox.append(url, body.getType(), payloads.getThreadName(), payloads.createBody(body, image));
+        } catch (IOException e) {
+            log.warn("Failed to persist {} webhook message to outbox", body.getType(), e);
+            return null;
+        }
+    }
+
+    private void replayOutbox() {
+        List<WebhookOutbox.Entry> entries;
+        try {
+            entries = outbox.open();
+        } catch (IOException e) {
+            log.warn("Failed to open webhook outbox", e);
+            return;
+        }
+        if (!entries.isEmpty()) {
+            log.info("Resending {} webhook messages from previous sessions", entries.size());
+        }
+        entries.forEach(entry -> sendPersisted(entry, 0));
+    }
+
+    private void sendPersisted(WebhookOutbox.Entry entry, int attempt) {
+        if (!outbox.isCurrent(entry)) {
+            // the journal was toggled since this entry was read; it remains persisted for the next session
+            log.debug("Abandoning resend of stale webhook outbox entry");
+            return;
+        }
+
+        HttpUrl url = entry.getUrl();
+        if (url == null) {
+            outbox.acknowledge(entry);
+            return;
+        }
+
+        BiConsumer<WebhookOutbox.Entry, Throwable> retry = (next, e) -> {
+            log.trace("Failed to resend persisted webhook message on attempt {}", attempt, e);
+            long baseDelay = config.baseRetryDelay();
+            if (attempt < config.maxRetries() && baseDelay > 0) {
+                // rate limited requests are already deferred by the limiter until the bucket resets
+                long delay = e instanceof RateLimitedException ? 0L : baseDelay * (1L << Math.min(attempt, 16)); // exponential backoff
+                metrics.increment("webhook.retries");
+                executor.schedule(() -> sendPersisted(next, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            } else if (!(e instanceof IOException)) {
+                log.warn("Discarding persisted {} webhook message after failed delivery", next.getType(), e);
+                outbox.acknowledge(next);
+            }
+        };
+
+        Request request = new Request.Builder()
+            .url(url)
+            .post(entry.body())
+            .build();
+
+        Callback callback = new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                metrics.increment("http." + url.host() + ".failures");
+                retry.accept(entry, e);
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
+                recordLatency(url, response);
+                boolean rateLimited = rateLimiter.update(url, response);
+                if (response.isSuccessful()) {
+                    log.trace("Successfully resent persisted webhook message after {} attempts", attempt + 1);
+                    response.close();
+                    outbox.acknowledge(entry);
+                    return;
+                }
+
+                String body = response.body() != null ? response.body().string() : null;
+                if (rateLimited) {
+                    metrics.increment("webhook.rateLimited");
+                    retry.accept(entry, new RateLimitedException(body));
+                    return;
+                }
+
+                // the persisted bytes predate the thread metadata that discord expects, so rewrite them
+                DiscordErrorMessage error = getThreadError(response, body);
+                WebhookOutbox.Entry fixed = error != null ? rewriteThread(url, entry, error.getCode()) : null;
+                if (fixed != null) {
+                    retry.accept(fixed, new RuntimeException(error.getMessage()));
+                    return;
+                }
+
+                retry.accept(entry, new RuntimeException(String.format("Received unsuccessful http response: %d - %s - %s", response.code(), response.message(), body)));
+            }
+        };
+
+        rateLimiter.submit(url, () -> httpClient.newCall(request).enqueue(callback));
+    }
+
+    /**
+     * Replaces the persisted entry with a copy whose payload complies with the thread requirements of the channel.
+     *
+     * @return the replacement entry, or null if the entry could not be rewritten
+     */
+    @Nullable
+    private WebhookOutbox.Entry rewriteThread(HttpUrl url, WebhookOutbox.Entry entry, int errorCode) {
+        String threadName = entry.getThreadName();
+        if (errorCode == DiscordErrorMessage.THREAD_NAME_REQUIRED && threadName == null) {
+            return null;
+        }
+
+        try {
+            RequestBody body = PersistedPayload.edit(gson, entry.body(), json -> {
+                if (errorCode == DiscordErrorMessage.THREAD_NAME_REQUIRED) {
+                    json.addProperty("thread_name", threadName);
+                    json.add("applied_tags", gson.toJsonTree(getAppliedTags(url)));
+                } else {
+                    json.remove("thread_name");
+                }
+            });
+            WebhookOutbox.Entry next = outbox.append(url, NotificationType.valueOf(entry.getType()), threadName, body);
+            if (next != null) {
+                outbox.acknowledge(entry);
+            }
+            return next;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to update thread of persisted {} webhook message", entry.getType(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the error if discord rejected the thread metadata of the message (or lack thereof), otherwise null
+     */
+    @Nullable
+    private DiscordErrorMessage getThreadError(Response response, @Nullable String body) {
+        if (response.code() != 400 || !"application/json".equals(response.header("Content-Type"))) {
+            return null;
+        }
+        DiscordErrorMessage error = gson.fromJson(body, DiscordErrorMessage.class);
+        if (error == null) return null;
+        int code = error.getCode();
+        return code == DiscordErrorMessage.THREAD_NAME_REQUIRED || code == DiscordErrorMessage.THREAD_NOT_ALLOWED ? error : null;
+    }
+
+    private void recordLatency(HttpUrl url, Response response) {
+        metrics.record("http." + url.host() + ".latencyMillis", response.receivedResponseAtMillis() - response.sentRequestAtMillis());
+    }
+
+    private void recordPayloadSize(RequestBody body) {
+        try {
+            long size = body.contentLength();
+            if (size >= 0) {
+                metrics.record("webhook.payloadBytes", size);
+            }
+        } catch (IOException e) {
+            log.trace("Failed to compute webhook payload size", e);
+        }
     }
 
     private NotificationBody<?> enrichBody(NotificationBody<?> mBody, boolean sendImage) {
@@ -263,13 +495,14 @@ public class DiscordMessageHandler {
             }
         }
 
-        if (config.seasonalPolicy() != SeasonalPolicy.REJECT && !mBody.isSeasonalWorld() && WorldUtils.isSeasonal(client)) {
+        DinkConfigSnapshot cfg = configSnapshot.get();
+        if (cfg.getSeasonalPolicy() != SeasonalPolicy.REJECT && !mBody.isSeasonalWorld() && WorldUtils.isSeasonal(client)) {
             mBody = mBody.withSeasonalWorld(true);
         }
 
         NotificationBody.NotificationBodyBuilder<?> builder = mBody.toBuilder();
 
-        if (config.includeLocation()) {
+        if (cfg.isIncludeLocation()) {
             if (mBody.getWorld() == null) {
                 builder.world(client.getWorld());
             }
@@ -282,26 +515,26 @@ public class DiscordMessageHandler {
             }
         }
 
-        if (config.sendDiscordUser()) {
+        if (cfg.isSendDiscordUser()) {
             builder.discordUser(DiscordProfile.of(discordService.getCurrentUser()));
         }
 
-        if (config.sendClanName()) {
+        if (cfg.isSendClanName()) {
             ClanChannel clan = client.getClanChannel(ClanID.CLAN);
             if (clan != null) {
                 builder.clanName(clan.getName());
             }
         }
 
-        if (config.sendGroupIronClanName()) {
+        if (cfg.isSendGroupIronClanName()) {
             ClanChannel gim = client.getClanChannel(ClanID.GROUP_IRONMAN);
             if (gim != null) {
                 builder.groupIronClanName(gim.getName());
             }
         }
 
-        if (config.discordRichEmbeds()) {
-            builder.embeds(computeEmbeds(mBody, sendImage, config));
+        if (cfg.isDiscordRichEmbeds()) {
+            builder.embeds(computeEmbeds(mBody, sendImage, cfg, config));
         } else {
             var prefix = mBody.isSeasonalWorld() ? "[Seasonal] " : "";
             builder.computedDiscordContent(prefix + mBody.getText().evaluate(false));
@@ -310,49 +543,50 @@ public class DiscordMessageHandler {
         return builder.build();
     }
 
-    private NotificationBody<?> injectThreadName(HttpUrl url, NotificationBody<?> mBody, boolean force) {
+    private NotificationBody<?> injectThreadName(HttpUrl url, NotificationBody<?> mBody, PayloadCache payloads, boolean force) {
         Collection<String> queryParams = url.queryParameterNames();
         if (force || (queryParams.contains("forum") && !queryParams.contains("thread_id"))) {
-            String type = mBody.isSeasonalWorld() ? "Seasonal - " + mBody.getType().getTitle() : mBody.getType().getTitle();
-            String threadName = Template.builder()
-                .template(config.threadNameTemplate())
-                .replacementBoundary("%")
-                .replacement("%TYPE%", Replacements.ofText(type))
-                .replacement("%MESSAGE%", mBody.getText())
-                .replacement("%USERNAME%", Replacements.ofText(mBody.getPlayerName()))
-                .build()
-                .evaluate(false);
-            Long[] appliedTags = ConfigUtil.readDelimited(url.queryParameter("applied_tags"))
-                .map(tag -> {
-                    try {
-                        return Long.parseLong(tag);
-                    } catch (NumberFormatException ignored) {
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .toArray(Long[]::new);
             return mBody.toBuilder()
-                .threadName(Utils.truncate(StringUtils.normalizeSpace(threadName), NotificationBody.MAX_THREAD_NAME_LENGTH))
-                .appliedTags(appliedTags)
+                .threadName(payloads.getThreadName())
+                .appliedTags(getAppliedTags(url))
                 .build();
         }
         return mBody;
     }
 
-    private RequestBody createBody(NotificationBody<?> mBody, @Nullable RequestBody image) {
-        String payload = gson.toJson(mBody);
+    private static Long[] getAppliedTags(HttpUrl url) {
+        return ConfigUtil.readDelimited(url.queryParameter("applied_tags"))
+            .map(tag -> {
+                try {
+                    return Long.parseLong(tag);
+                } catch (NumberFormatException ignored) {
+                    return null;
+                }
+            })
+            .filter(Objects::nonNull)
+            .toArray(Long[]::new);
+    }
 
-        if (image != null) {
-            String screenshotFileName = computeScreenshotName(config.screenshotFilenameTemplate(), mBody);
-            return new MultipartBody.Builder()
-                .setType(MultipartBody.FORM)
-                .addFormDataPart("payload_json", payload)
-                .addFormDataPart("file", screenshotFileName, image)
-                .build();
-        }
+    private String computeThreadName(NotificationBody<?> mBody) {
+        String type = mBody.isSeasonalWorld() ? "Seasonal - " + mBody.getType().getTitle() : mBody.getType().getTitle();
+        String threadName = Template.builder()
+            .template(config.threadNameTemplate())
+            .replacementBoundary("%")
+            .replacement("%TYPE%", Replacements.ofText(type))
+            .replacement("%MESSAGE%", mBody.getText())
+            .replacement("%USERNAME%", Replacements.ofText(mBody.getPlayerName()))
+            .build()
+            .evaluate(false);
+        return Utils.truncate(StringUtils.normalizeSpace(threadName), NotificationBody.MAX_THREAD_NAME_LENGTH);
+    }
 
-        return RequestBody.create(JSON, payload);
+    private static boolean isImageUpload(@Nullable RequestBody body) {
+        if (body instanceof MultipartBody) {
+            return Utils.hasImage((MultipartBody) body);
+        }
+        // bodies streamed from the outbox are opaque, but multipart is only used for screenshots
+        MediaType type = body != null ? body.contentType() : null;
+        return type != null && "multipart".equals(type.type());
     }
 
     private static String computeScreenshotName(String template, NotificationBody<?> mBody) {
@@ -380,58 +614,85 @@ public class DiscordMessageHandler {
     }
 
     /**
-     * Captures the next frame and applies the specified rescaling
-     * while abiding by {@link Embed#MAX_IMAGE_SIZE}.
+     * Captures the next frame, or reuses the pending capture if another notification
+     * already requested the same frame with the same privacy and scaling settings
+     * (e.g., loot, collection log, and pet notifications that fire on the same tick).
      *
-     * @param scalePercent {@link DinkPluginConfig#screenshotScale()} divided by 100.0
      * @param screenshotOverride an optional image to use instead of grabbing a frame from {@link DrawManager}
-     * @return future of the image byte array by the image format name
-     * @apiNote scalePercent should be in (0, 1]
-     * @implNote the image format is either "png" (lossless) or "jpeg" (lossy), both of which can be used in MIME type
+     * @return future of the encoded screenshot, or null if the image could not be encoded
      */
-    private CompletableFuture<Map.Entry<String, byte[]>> captureScreenshot(double scalePercent, @Nullable Image screenshotOverride) {
-        CompletableFuture<Image> future = new CompletableFuture<>();
+    private CompletableFuture<RequestBody> captureScreenshot(@Nullable Image screenshotOverride) {
+        double scalePercent = config.screenshotScale() / 100.0;
+        int maxSize = config.screenshotMaxSize();
+        int maxBytes = maxSize > 0 ? Math.min(maxSize * 1000, Embed.MAX_IMAGE_SIZE) : Embed.MAX_IMAGE_SIZE;
         if (screenshotOverride != null) {
-            future.complete(screenshotOverride);
-        } else {
-            Utils.captureScreenshot(client, clientThread, drawManager, imageCapture, executor, config, future::complete);
+            return encodeScreenshot(CompletableFuture.completedFuture(screenshotOverride), scalePercent, maxBytes);
+        }
+
+        ScreenshotKey key = new ScreenshotKey(config.chatPrivacy(), config.includeClientFrame(), scalePercent, maxBytes);
+        synchronized (screenshotLock) {
+            if (pendingScreenshot != null && key.equals(pendingScreenshotKey)) {
+                return pendingScreenshot;
+            }
+
+            CompletableFuture<Image> frame = new CompletableFuture<>();
+            CompletableFuture<RequestBody> screenshot = encodeScreenshot(frame, scalePercent, maxBytes);
+            pendingScreenshotKey = key;
+            pendingScreenshot = screenshot;
+            long captureStart = System.nanoTime();
+            Utils.captureScreenshot(client, clientThread, drawManager, imageCapture, executor, config, image -> {
+                metrics.recordSince("screenshot.captureMicros", captureStart);
+                synchronized (screenshotLock) {
+                    // subsequent notifications should capture a newer frame
+                    if (pendingScreenshot == screenshot) {
+                        pendingScreenshotKey = null;
+                        pendingScreenshot = null;
+                    }
+                }
+                frame.complete(image);
+            });
+            return screenshot;
         }
+    }
+
+    /**
+     * Applies the specified rescaling while abiding by the specified size limit.
+     *
+     * @param future the captured frame
+     * @param scalePercent {@link DinkPluginConfig#screenshotScale()} divided by 100.0
+     * @param maxBytes the minimum of {@link Embed#MAX_IMAGE_SIZE} and {@link DinkPluginConfig#screenshotMaxSize()}
+     * @return future of the encoded image, whose request body can be shared by multiple requests
+     * @apiNote scalePercent should be in (0, 1]
+     * @implNote the image format is either "png" (lossless) or "jpeg" (lossy), both of which can be used in MIME type
+     */
+    private CompletableFuture<RequestBody> encodeScreenshot(CompletableFuture<Image> future, double scalePercent, int maxBytes) {
         return future.thenApplyAsync(ImageUtil::bufferedImageFromImage, executor)
-            .thenApply(input -> Utils.rescale(input, scalePercent))
             .thenApply(image -> {
                 try {
-                    String format = "png"; // lossless
-                    return Pair.of(format, Utils.convertImageToByteArray(image, format));
-                } catch (IOException e) {
-                    throw new CompletionException("Could not convert image to byte array", e);
-                }
-            })
-            .thenApply(pair -> {
-                byte[] bytes = pair.getValue();
-                int n = bytes.length;
-                if (n <= Embed.MAX_IMAGE_SIZE)
-                    return pair; // already compliant; no further rescale necessary
-
-                // calculate scale factor to comply with MAX_IMAGE_SIZE
-                double factor = Math.sqrt(1.0 * Embed.MAX_IMAGE_SIZE / n);
-
-                // bytes => original image => rescaled image => updated bytes
-                try (InputStream is = new ByteArrayInputStream(bytes)) {
-                    String format = "jpeg"; // lossy
-                    BufferedImage rescaled = Utils.rescale(ImageIO.read(is), factor);
-                    return Pair.of(format, Utils.convertImageToByteArray(rescaled, format));
+                    long start = System.nanoTime();
+                    var encoded = screenshotEncoder.encode(image, scalePercent, maxBytes);
+                    metrics.recordSince("screenshot.encodeMicros", start);
+                    metrics.record("screenshot.bytes", encoded.getValue().length);
+                    return encoded;
                 } catch (Exception e) {
-                    throw new CompletionException("Failed to resize image below Discord size limit", e);
+                    throw new CompletionException("Failed to encode image below Discord size limit", e);
                 }
+            })
+            .thenApply(image ->
+                RequestBody.create(MediaType.parse("image/" + image.getKey()), image.getValue())
+            )
+            .exceptionally(e -> {
+                log.warn("There was an error creating bytes from captured image", e);
+                return null;
             });
     }
 
-    private static List<Embed> computeEmbeds(@NotNull NotificationBody<?> body, boolean screenshot, DinkPluginConfig config) {
+    private static List<Embed> computeEmbeds(@NotNull NotificationBody<?> body, boolean screenshot, DinkConfigSnapshot cfg, DinkPluginConfig config) {
         NotificationType type = body.getType();
         NotificationData extra = body.getExtra();
-        String footerText = body.getCustomFooter() != null ? body.getCustomFooter() : config.embedFooterText();
-        String footerIcon = config.embedFooterIcon();
-        PlayerLookupService playerLookupService = config.playerLookupService();
+        String footerText = body.getCustomFooter() != null ? body.getCustomFooter() : cfg.getEmbedFooterText();
+        String footerIcon = cfg.getEmbedFooterIcon();
+        PlayerLookupService playerLookupService = cfg.getPlayerLookupService();
 
         Author author = Author.builder()
             .name(body.getPlayerName())
@@ -451,10 +712,10 @@ public class DiscordMessageHandler {
         embeds.add(0,
             Embed.builder()
                 .author(author)
-                .color(config.embedColor())
+                .color(cfg.getEmbedColor())
                 .title(Utils.truncate(body.isSeasonalWorld() ? "[Seasonal] " + title : title, Embed.MAX_TITLE_LENGTH))
-                .description(Utils.truncate(body.getText().evaluate(config.discordRichEmbeds()), Embed.MAX_DESCRIPTION_LENGTH))
-                .image(screenshot ? new Embed.UrlEmbed("attachment://" + computeScreenshotName(config.screenshotFilenameTemplate(), body)) : null)
+                .description(Utils.truncate(body.getText().evaluate(cfg.isDiscordRichEmbeds()), Embed.MAX_DESCRIPTION_LENGTH))
+                .image(screenshot ? new Embed.UrlEmbed("attachment://" + computeScreenshotName(cfg.getScreenshotFilenameTemplate(), body)) : null)
                 .thumbnail(new Embed.UrlEmbed(thumbnail))
                 .fields(extra != null ? extra.getFields() : Collections.emptyList())
                 .footer(footer)
@@ -464,4 +725,18 @@ public class DiscordMessageHandler {
         return embeds;
     }
 
+    @Value
+    private static class ScreenshotKey {
+        ChatPrivacyMode privacy;
+        boolean clientFrame;
+        double scale;
+        int maxBytes;
+    }
+
+    private static class RateLimitedException extends RuntimeException {
+        RateLimitedException(String message) {
+            super("Received rate limit response: " + message);
+        }
+    }
+
 }
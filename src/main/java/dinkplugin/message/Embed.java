@@ -24,6 +24,7 @@ public class Embed {
     public static final int MAX_DESCRIPTION_LENGTH = 4096;
     public static final int MAX_FOOTER_LENGTH = 2048;
     public static final int MAX_EMBEDS = 10;
+    public static final int MAX_TOTAL_LENGTH = 6000; // across all embeds in a message
 
     /**
      * Filled in with the title of {@link NotificationBody}.
@@ -106,6 +107,25 @@ public class Embed {
             .build();
     }
 
+    /**
+     * @return the number of characters that count toward {@link #MAX_TOTAL_LENGTH}
+     */
+    public int getTextLength() {
+        int n = length(title) + length(description);
+        if (author != null) n += length(author.getName());
+        if (footer != null) n += length(footer.getText());
+        if (fields != null) {
+            for (Field field : fields) {
+                n += length(field.getName()) + length(field.getValue());
+            }
+        }
+        return n;
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+
     @Value
     public static class UrlEmbed {
         String url;
@@ -0,0 +1,150 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces rich embed notifications that are bound for the same webhook url within a short window,
+ * so that bursts (e.g., loot, kill count, and collection log upon raid completion) become a single request.
+ * <p>
+ * Batches abide by {@link Embed#MAX_EMBEDS}, {@link Embed#MAX_TOTAL_LENGTH}, and Discord's single attachment per message.
+ * Notifications are only merged if they share the same thread metadata (i.e., {@link PayloadCache.Variant}),
+ * so forum channel posts are not moved into the thread of a different notification type.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class MessageBatcher {
+
+    private final Gson gson;
+    private final ScheduledExecutorService executor;
+    private final Sender sender;
+    private final Map<Key, Batch> pending = new HashMap<>();
+
+    /**
+     * Enqueues the notification, which is sent once the linger window elapses
+     * or when a subsequent notification no longer fits in the same message.
+     *
+     * @param url          the webhook url
+     * @param body         the fully enriched notification (with thread name already injected)
+     * @param payloads     the serialization cache of the notification
+     * @param image        whether the screenshot should be attached
+     * @param lingerMillis how long to wait for additional notifications
+     */
+    void offer(@NotNull HttpUrl url, @NotNull NotificationBody<?> body, @NotNull PayloadCache payloads, boolean image, long lingerMillis) {
+        Item item = new Item(body, payloads, image);
+        Key key = new Key(url, PayloadCache.Variant.of(body));
+        Batch full = null;
+        synchronized (pending) {
+            Batch batch = pending.get(key);
+            if (batch != null && !batch.accepts(item)) {
+                full = pending.remove(key);
+                batch = null;
+            }
+            if (batch == null) {
+                Batch created = new Batch();
+                pending.put(key, created);
+                executor.schedule(() -> flush(key, created), lingerMillis, TimeUnit.MILLISECONDS);
+                batch = created;
+            }
+            batch.add(item);
+        }
+
+        if (full != null) {
+            send(url, full);
+        }
+    }
+
+    private void flush(Key key, Batch batch) {
+        synchronized (pending) {
+            if (!pending.remove(key, batch)) {
+                return; // already sent because it was full
+            }
+        }
+        send(key.url, batch);
+    }
+
+    private void send(HttpUrl url, Batch batch) {
+        List<Item> items = batch.items;
+        Item first = items.get(0);
+        if (items.size() == 1) {
+            sender.send(url, first.body, first.payloads, first.image);
+            return;
+        }
+
+        List<Embed> embeds = new ArrayList<>(batch.embedCount);
+        Item imageSource = null;
+        for (Item item : items) {
+            embeds.addAll(item.body.getEmbeds());
+            if (item.image) imageSource = item;
+        }
+
+        // the merged message keeps the metadata of the first notification, whose thread variant is shared by the others
+        NotificationBody<?> merged = first.body.withEmbeds(embeds);
+        PayloadCache payloads = imageSource != null
+            ? new PayloadCache(gson, imageSource.payloads.getImage(), imageSource.payloads.getScreenshotFileName(), first.payloads::getThreadName)
+            : new PayloadCache(gson, null, null, first.payloads::getThreadName);
+        log.debug("Coalesced {} notifications into a single webhook message", items.size());
+        sender.send(url, merged, payloads, imageSource != null);
+    }
+
+    /**
+     * @param body the enriched notification
+     * @return whether the notification can be merged with others
+     */
+    static boolean isBatchable(@NotNull NotificationBody<?> body) {
+        return body.getComputedDiscordContent() == null && body.getEmbeds() != null && !body.getEmbeds().isEmpty();
+    }
+
+    @FunctionalInterface
+    interface Sender {
+        void send(HttpUrl url, NotificationBody<?> body, PayloadCache payloads, boolean image);
+    }
+
+    @Value
+    private static class Key {
+        HttpUrl url;
+        PayloadCache.Variant variant;
+    }
+
+    @RequiredArgsConstructor
+    private static class Item {
+        private final NotificationBody<?> body;
+        private final PayloadCache payloads;
+        private final boolean image;
+
+        int textLength() {
+            return body.getEmbeds().stream().mapToInt(Embed::getTextLength).sum();
+        }
+    }
+
+    private static class Batch {
+        private final List<Item> items = new ArrayList<>(Embed.MAX_EMBEDS);
+        private int embedCount = 0;
+        private int textLength = 0;
+        private boolean image = false;
+
+        boolean accepts(Item item) {
+            return !(image && item.image)
+                && embedCount + item.body.getEmbeds().size() <= Embed.MAX_EMBEDS
+                && textLength + item.textLength() <= Embed.MAX_TOTAL_LENGTH;
+        }
+
+        void add(Item item) {
+            items.add(item);
+            embedCount += item.body.getEmbeds().size();
+            textLength += item.textLength();
+            image |= item.image;
+        }
+    }
+}
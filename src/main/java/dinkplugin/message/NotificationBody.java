@@ -121,4 +121,14 @@ public class NotificationBody<T extends NotificationData> {
     @EqualsAndHashCode.Exclude
     transient Image screenshotOverride;
 
+    /**
+     * The {@link System#nanoTime()} when the game event that triggered this notification was received (or zero if unknown),
+     * which is used to record the notification latency in {@link dinkplugin.util.DinkMetrics}.
+     * <p>
+     * Only set by notifiers that respond directly to a single game event (i.e., chat, death, and loot);
+     * other notifiers aggregate state across several events and ticks, so they leave this as zero and skip the latency metric.
+     */
+    @EqualsAndHashCode.Exclude
+    transient long eventNanos;
+
 }
@@ -0,0 +1,95 @@
+package dinkplugin.message;
+
+import com.google.common.base.Suppliers;
+import com.google.gson.Gson;
+import lombok.Getter;
+import lombok.Value;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the serialized forms of a single notification so that each variant is only
+ * converted to JSON once, regardless of the number of webhook urls or retry attempts.
+ * <p>
+ * Variants of the notification (e.g., for forum channels) can only differ in their thread metadata.
+ */
+class PayloadCache {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private final Gson gson;
+    private final String boundary = UUID.randomUUID().toString();
+    private final Map<Variant, byte[]> payloads = new ConcurrentHashMap<>();
+    private final Supplier<String> threadName;
+
+    @Nullable
+    @Getter
+    private final RequestBody image;
+
+    @Nullable
+    @Getter
+    private final String screenshotFileName;
+
+    @Nullable
+    private final MultipartBody.Part screenshot;
+
+    PayloadCache(Gson gson, @Nullable RequestBody image, @Nullable String screenshotFileName, Supplier<String> threadName) {
+        this.gson = gson;
+        this.image = image;
+        this.screenshotFileName = screenshotFileName;
+        this.threadName = Suppliers.memoize(threadName::get);
+        this.screenshot = image != null ? MultipartBody.Part.createFormData("file", screenshotFileName, image) : null;
+    }
+
+    /**
+     * @return the evaluated thread name template, which is shared by all forum channel variants
+     */
+    String getThreadName() {
+        return threadName.get();
+    }
+
+    /**
+     * @param body         the notification (or one of its thread variants) that should be sent
+     * @param includeImage whether the screenshot should be attached
+     * @return a request body backed by the cached UTF-8 payload
+     */
+    RequestBody createBody(@NotNull NotificationBody<?> body, boolean includeImage) {
+        byte[] payload = payloads.computeIfAbsent(Variant.of(body), k -> gson.toJson(body).getBytes(StandardCharsets.UTF_8));
+
+        if (includeImage && screenshot != null) {
+            return new MultipartBody.Builder(boundary)
+                .setType(MultipartBody.FORM)
+                .addFormDataPart("payload_json", null, RequestBody.create(null, payload))
+                .addPart(screenshot)
+                .build();
+        }
+
+        return RequestBody.create(JSON, payload);
+    }
+
+    /**
+     * The thread metadata that distinguishes the serialized variants of a notification.
+     */
+    @Value
+    static class Variant {
+        @Nullable
+        String threadName;
+        @Nullable
+        List<Long> appliedTags;
+
+        static Variant of(NotificationBody<?> body) {
+            Long[] tags = body.getAppliedTags();
+            return new Variant(body.getThreadName(), tags != null ? Arrays.asList(tags) : null);
+        }
+    }
+}
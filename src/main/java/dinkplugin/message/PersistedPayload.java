@@ -0,0 +1,81 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import lombok.experimental.UtilityClass;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.ByteString;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Edits the json payload of a request body that was persisted by {@link WebhookOutbox},
+ * such as when a replayed message must gain (or lose) its forum thread metadata.
+ * <p>
+ * Multipart bodies are expected to begin with the {@code payload_json} part (as written by {@link PayloadCache}),
+ * and the remaining parts (i.e., the screenshot) are copied as-is.
+ */
+@UtilityClass
+class PersistedPayload {
+
+    private final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private final ByteString HEADERS_END = ByteString.encodeUtf8("\r\n\r\n");
+
+    /**
+     * @param gson      the gson instance to (de)serialize the payload
+     * @param persisted the body streamed from the outbox
+     * @param edit      modifies the json payload in place
+     * @return a new in-memory request body with the edited payload
+     * @throws IOException if the body could not be read, or does not have the expected layout
+     */
+    RequestBody edit(@NotNull Gson gson, @NotNull RequestBody persisted, @NotNull Consumer<JsonObject> edit) throws IOException {
+        Buffer buffer = new Buffer();
+        persisted.writeTo(buffer);
+
+        MediaType type = persisted.contentType();
+        if (type == null || !"multipart".equals(type.type())) {
+            return RequestBody.create(type != null ? type : JSON, editJson(gson, buffer.readByteString(), edit));
+        }
+
+        String boundary = type.parameter("boundary");
+        if (boundary == null) throw new IOException("Persisted multipart body lacks a boundary");
+
+        ByteString bytes = buffer.readByteString();
+        ByteString opening = ByteString.encodeUtf8("--" + boundary + "\r\n");
+        int contentStart = bytes.indexOf(HEADERS_END) + HEADERS_END.size();
+        if (!bytes.startsWith(opening) || contentStart < HEADERS_END.size()
+            || !bytes.substring(0, contentStart).utf8().contains("name=\"payload_json\"")) {
+            throw new IOException("Persisted multipart body does not begin with the json payload");
+        }
+        int contentEnd = bytes.indexOf(ByteString.encodeUtf8("\r\n--" + boundary), contentStart);
+        if (contentEnd < 0) throw new IOException("Persisted multipart body was truncated");
+
+        // mirror the part headers written by okhttp for PayloadCache#createBody
+        ByteString payload = editJson(gson, bytes.substring(contentStart, contentEnd), edit);
+        Buffer rewritten = new Buffer()
+            .write(opening)
+            .writeUtf8("Content-Disposition: form-data; name=\"payload_json\"\r\n")
+            .writeUtf8("Content-Length: " + payload.size())
+            .write(HEADERS_END)
+            .write(payload)
+            .write(bytes.substring(contentEnd));
+        return RequestBody.create(type, rewritten.readByteString());
+    }
+
+    private ByteString editJson(Gson gson, ByteString payload, Consumer<JsonObject> edit) throws IOException {
+        JsonObject json;
+        try {
+            json = gson.fromJson(payload.utf8(), JsonObject.class);
+        } catch (RuntimeException e) {
+            throw new IOException("Persisted payload is not a json object", e);
+        }
+        if (json == null) throw new IOException("Persisted payload is empty");
+        edit.accept(json);
+        return ByteString.of(gson.toJson(json).getBytes(StandardCharsets.UTF_8));
+    }
+}
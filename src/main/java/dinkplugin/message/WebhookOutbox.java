@@ -0,0 +1,429 @@
+package dinkplugin.message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Synchronized;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only journal of webhook requests that have not yet been delivered.
+ * <p>
+ * Each request body is serialized once upon {@link #append}, and later attempts stream the bytes from disk.
+ * Entries that are not {@link #acknowledge acknowledged} by the end of a session are replayed by {@link #open}.
+ * <p>
+ * Each {@link Entry} is bound to the journal generation it was read from, since re-opening the journal compacts it
+ * (invalidating previous offsets). Entries from a previous generation are not re-issued while still in flight.
+ * <p>
+ * Record layout: {@code [ENTRY][int headerLength][header][long bodyLength][body]} or {@code [ACK][long id]}
+ */
+@Slf4j
+@Singleton
+public class WebhookOutbox {
+
+    private static final String FILE_NAME = "outbox.journal";
+    private static final byte ENTRY = 1, ACK = 2;
+
+    /**
+     * Body length of a record that is still being written, which is treated as a partially written tail by {@link #scan}.
+     */
+    private static final long UNKNOWN_LENGTH = -1L;
+
+    /**
+     * Upper bound on the journal size, beyond which new requests are only kept in memory.
+     */
+    @VisibleForTesting
+    static final long MAX_JOURNAL_SIZE = 128L * 1024 * 1024;
+
+    private final File directory;
+    private final Set<Long> pending = new HashSet<>();
+
+    /**
+     * Entries handed out during this session that have not been acknowledged (even if their generation has since ended).
+     */
+    private final Set<Long> inFlight = new HashSet<>();
+
+    private volatile FileChannel channel = null;
+    private int generation = 0;
+    private long nextId = 0;
+
+    @Inject
+    public WebhookOutbox() {
+        this(new File(RuneLite.RUNELITE_DIR, "dink"));
+    }
+
+    @VisibleForTesting
+    public WebhookOutbox(File directory) {
+        this.directory = directory;
+    }
+
+    @Synchronized
+    public boolean isOpen() {
+        return channel != null;
+    }
+
+    /**
+     * Opens the journal, compacting away any acknowledged (or partially written) records.
+     *
+     * @return the entries that still need to be delivered, excluding those with attempts in flight from this session
+     * @throws IOException if the journal could not be read or written
+     */
+    @Synchronized
+    public List<Entry> open() throws IOException {
+        if (channel != null) return Collections.emptyList();
+
+        Path dir = directory.toPath();
+        Files.createDirectories(dir);
+        Path journal = dir.resolve(FILE_NAME);
+        Path compacted = dir.resolve(FILE_NAME + ".tmp");
+
+        int gen = generation + 1;
+        List<Entry> survivors = new ArrayList<>();
+        Set<Long> retained = new HashSet<>();
+        long maxId = -1L;
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (Files.exists(journal)) {
+                try (FileChannel in = FileChannel.open(journal, StandardOpenOption.READ)) {
+                    for (Record record : scan(in).values()) {
+                        long id = record.header.id;
+                        long offset = writeHeader(out, record.header, record.bodyLength);
+                        long end = record.bodyOffset + record.bodyLength;
+                        for (long i = record.bodyOffset; i < end; ) {
+                            long n = in.transferTo(i, end - i, out);
+                            if (n <= 0) throw new EOFException("Outbox journal was truncated during compaction");
+                            i += n;
+                        }
+                        retained.add(id);
+                        maxId = Math.max(maxId, id);
+                        if (!inFlight.contains(id)) {
+                            survivors.add(new Entry(record.header, gen, offset, record.bodyLength));
+                        }
+                    }
+                }
+            }
+            out.force(true);
+        }
+        Files.move(compacted, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        this.channel = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+        this.generation = gen;
+        pending.addAll(retained);
+        survivors.forEach(entry -> inFlight.add(entry.getId()));
+        // ids must never be reused within a session, since stale entries may still be acknowledged
+        this.nextId = Math.max(nextId, maxId + 1);
+        log.debug("Opened webhook outbox with {} pending entries ({} to resend)", retained.size(), survivors.size());
+        return survivors;
+    }
+
+    /**
+     * Serializes the request body and durably writes it to the journal.
+     *
+     * @param url        the webhook url
+     * @param type       the notification type (for logging)
+     * @param threadName the thread name to use if the webhook turns out to target a forum channel
+     * @param body       the fully-formed request body
+     * @return the journal entry, or null if the outbox is closed or full
+     * @throws IOException if the request could not be written
+     */
+    @Nullable
+    @Synchronized
+    public Entry append(@NotNull HttpUrl url, @NotNull NotificationType type, @Nullable String threadName, @NotNull RequestBody body) throws IOException {
+        if (channel == null) return null;
+        if (channel.size() >= MAX_JOURNAL_SIZE) {
+            log.warn("Webhook outbox is full; {} notification will not be persisted", type);
+            return null;
+        }
+
+        MediaType contentType = body.contentType();
+        Header header = new Header(nextId++, url.toString(), type.name(), contentType != null ? contentType.toString() : "", threadName != null ? threadName : "");
+
+        // stream the body to the journal (rather than copying it in memory), and then fill in its length
+        long start = channel.position();
+        long offset, length;
+        try {
+            offset = writeHeader(channel, header, UNKNOWN_LENGTH);
+            BufferedSink sink = Okio.buffer(Okio.sink(Channels.newOutputStream(channel)));
+            body.writeTo(sink);
+            sink.flush(); // not closed, since that would close the channel
+            length = channel.position() - offset;
+
+            ByteBuffer bodyLength = ByteBuffer.allocate(Long.BYTES).putLong(length);
+            bodyLength.flip();
+            for (long position = offset - Long.BYTES; bodyLength.hasRemaining(); ) {
+                position += channel.write(bodyLength, position);
+            }
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            // discard the partial record, so it does not hide later records from scan
+            channel.truncate(start);
+            channel.position(start);
+            throw e;
+        }
+
+        pending.add(header.id);
+        inFlight.add(header.id);
+        return new Entry(header, generation, offset, length);
+    }
+
+    /**
+     * Marks the entry as delivered (or no longer worth delivering).
+     * <p>
+     * Once every entry has been acknowledged, the journal is truncated.
+     *
+     * @param entry the journal entry (from any generation), which may be null for convenience
+     */
+    @Synchronized
+    public void acknowledge(@Nullable Entry entry) {
+        if (entry == null || !inFlight.remove(entry.getId())) return;
+        try {
+            if (channel == null) {
+                // the attempt outlived the journal, so record the acknowledgement for the next time it is opened
+                Path journal = directory.toPath().resolve(FILE_NAME);
+                if (Files.exists(journal)) {
+                    try (FileChannel out = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                        writeAck(out, entry.getId());
+                        out.force(false);
+                    }
+                }
+                return;
+            }
+
+            if (!pending.remove(entry.getId())) return;
+            if (pending.isEmpty()) {
+                channel.truncate(0L);
+                channel.position(0L);
+            } else {
+                writeAck(channel, entry.getId());
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            log.warn("Failed to acknowledge webhook outbox entry", e);
+        }
+    }
+
+    @Synchronized
+    public void close() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Failed to close webhook outbox", e);
+        }
+        channel = null;
+        generation++;
+        pending.clear();
+    }
+
+    /**
+     * @param entry the journal entry
+     * @return whether the persisted bytes of the entry can still be read (i.e., the journal has not been re-opened since)
+     */
+    @Synchronized
+    public boolean isCurrent(@NotNull Entry entry) {
+        return channel != null && entry.generation == generation;
+    }
+
+    @Synchronized
+    private FileChannel channelFor(int entryGeneration) throws IOException {
+        if (channel == null) throw new IOException("Webhook outbox was closed");
+        if (entryGeneration != generation) throw new IOException("Webhook outbox entry belongs to a previous generation");
+        return channel;
+    }
+
+    private static void writeAck(FileChannel out, long id) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(Byte.BYTES + Long.BYTES).put(ACK).putLong(id);
+        record.flip();
+        while (record.hasRemaining()) {
+            out.write(record);
+        }
+    }
+
+    /**
+     * Writes the record prefix at the current position of the channel.
+     *
+     * @return the position at which the body should be written
+     */
+    private static long writeHeader(FileChannel out, Header header, long bodyLength) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(bytes)) {
+            data.writeLong(header.id);
+            data.writeUTF(header.url);
+            data.writeUTF(header.type);
+            data.writeUTF(header.contentType);
+            data.writeUTF(header.threadName);
+        }
+        byte[] serialized = bytes.toByteArray();
+        ByteBuffer record = ByteBuffer.allocate(Byte.BYTES + Integer.BYTES + serialized.length + Long.BYTES)
+            .put(ENTRY)
+            .putInt(serialized.length)
+            .put(serialized)
+            .putLong(bodyLength);
+        record.flip();
+        while (record.hasRemaining()) {
+            out.write(record);
+        }
+        return out.position();
+    }
+
+    /**
+     * @return the records that were never acknowledged, keyed by id in insertion order
+     */
+    private static Map<Long, Record> scan(FileChannel in) throws IOException {
+        Map<Long, Record> records = new LinkedHashMap<>();
+        long size = in.size();
+        long position = 0;
+        ByteBuffer prefix = ByteBuffer.allocate(Byte.BYTES + Long.BYTES);
+        while (position < size) {
+            prefix.clear().limit(Byte.BYTES + Integer.BYTES);
+            if (!readFully(in, prefix, position)) break;
+            prefix.flip();
+            byte kind = prefix.get();
+            if (kind == ACK) {
+                prefix.clear().limit(Long.BYTES);
+                if (!readFully(in, prefix, position + Byte.BYTES)) break;
+                prefix.flip();
+                records.remove(prefix.getLong());
+                position += Byte.BYTES + Long.BYTES;
+            } else if (kind == ENTRY) {
+                int headerLength = prefix.getInt();
+                if (headerLength <= 0 || position + Byte.BYTES + Integer.BYTES + headerLength + Long.BYTES > size) break;
+                ByteBuffer raw = ByteBuffer.allocate(headerLength + Long.BYTES);
+                if (!readFully(in, raw, position + Byte.BYTES + Integer.BYTES)) break;
+                raw.flip();
+                byte[] serialized = new byte[headerLength];
+                raw.get(serialized);
+                long bodyLength = raw.getLong();
+                long bodyOffset = position + Byte.BYTES + Integer.BYTES + headerLength + Long.BYTES;
+                if (bodyLength < 0 || bodyOffset + bodyLength > size) break; // partially written tail
+                Header header;
+                try (DataInputStream data = new DataInputStream(new ByteArrayInputStream(serialized))) {
+                    header = new Header(data.readLong(), data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF());
+                }
+                records.put(header.id, new Record(header, bodyOffset, bodyLength));
+                position = bodyOffset + bodyLength;
+            } else {
+                log.warn("Encountered corrupt webhook outbox record at position {}", position);
+                break;
+            }
+        }
+        return records;
+    }
+
+    private static boolean readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = in.read(buffer, position);
+            if (n < 0) return false;
+            position += n;
+        }
+        return true;
+    }
+
+    @RequiredArgsConstructor
+    private static class Header {
+        private final long id;
+        private final String url;
+        private final String type;
+        private final String contentType;
+        private final String threadName;
+    }
+
+    @RequiredArgsConstructor
+    private static class Record {
+        private final Header header;
+        private final long bodyOffset;
+        private final long bodyLength;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public class Entry {
+        private final Header header;
+        private final int generation;
+        private final long offset;
+        @Getter
+        private final long length;
+
+        public long getId() {
+            return header.id;
+        }
+
+        @Nullable
+        public HttpUrl getUrl() {
+            return HttpUrl.parse(header.url);
+        }
+
+        public String getType() {
+            return header.type;
+        }
+
+        /**
+         * @return the thread name to use if the webhook targets a forum channel, or null if unavailable
+         */
+        @Nullable
+        public String getThreadName() {
+            return header.threadName.isEmpty() ? null : header.threadName;
+        }
+
+        /**
+         * @return a request body that streams the persisted bytes from the journal on each attempt
+         */
+        public RequestBody body() {
+            MediaType contentType = header.contentType.isEmpty() ? null : MediaType.parse(header.contentType);
+            return new RequestBody() {
+                @Override
+                public MediaType contentType() {
+                    return contentType;
+                }
+
+                @Override
+                public long contentLength() {
+                    return length;
+                }
+
+                @Override
+                public void writeTo(@NotNull BufferedSink sink) throws IOException {
+                    FileChannel in = channelFor(generation);
+                    long end = offset + length;
+                    for (long i = offset; i < end; ) {
+                        long n = in.transferTo(i, end - i, sink);
+                        if (n <= 0) throw new EOFException("Webhook outbox entry is no longer available");
+                        i += n;
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package dinkplugin.message;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Delays webhook requests until the relevant rate limit bucket has capacity,
+ * based on the headers that Discord includes in each response.
+ * <p>
+ * Buckets are tracked per webhook route, while global rate limits block the entire host.
+ *
+ * @see <a href="https://discord.com/developers/docs/topics/rate-limits">Discord Rate Limits</a>
+ */
+@Slf4j
+@Singleton
+public class WebhookRateLimiter {
+
+    /**
+     * Upper bound on server-provided wait times, in case of a malformed header.
+     */
+    private static final long MAX_WAIT_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final ScheduledExecutorService executor;
+    private final Map<String, Bucket> routes = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> hosts = new ConcurrentHashMap<>();
+
+    @Inject
+    public WebhookRateLimiter(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs the request once neither the route nor the host are rate limited.
+     *
+     * @param url     the webhook url
+     * @param request the task that enqueues the http call
+     */
+    public void submit(@NotNull HttpUrl url, @NotNull Runnable request) {
+        submit(route(url), host(url), request, null);
+    }
+
+    /**
+     * Updates the bucket state from the rate limit headers of a webhook response.
+     *
+     * @param url      the webhook url
+     * @param response the http response (whose body is not consumed)
+     * @return whether the request was rejected due to a rate limit
+     */
+    public boolean update(@NotNull HttpUrl url, @NotNull Response response) {
+        long now = System.nanoTime();
+        Bucket route = route(url);
+
+        Integer limit = parseInt(response.header("X-RateLimit-Limit"));
+        Integer remaining = parseInt(response.header("X-RateLimit-Remaining"));
+        Long resetAfter = parseSeconds(response.header("X-RateLimit-Reset-After"));
+        if (remaining != null && resetAfter != null) {
+            route.refresh(limit != null ? limit : -1, remaining, now, resetAfter);
+        }
+
+        if (response.code() != 429) {
+            return false;
+        }
+
+        Long retryAfter = parseSeconds(response.header("Retry-After"));
+        long wait = retryAfter != null ? retryAfter : resetAfter != null ? resetAfter : TimeUnit.SECONDS.toNanos(1);
+        if ("true".equalsIgnoreCase(response.header("X-RateLimit-Global")) || "global".equalsIgnoreCase(response.header("X-RateLimit-Scope"))) {
+            host(url).block(now + wait);
+        } else {
+            route.block(now + wait);
+        }
+        log.debug("Webhook was rate limited for {} milliseconds", TimeUnit.NANOSECONDS.toMillis(wait));
+        return true;
+    }
+
+    /**
+     * @return the number of requests that are currently waiting on a rate limit
+     */
+    public int getQueueDepth() {
+        return routes.values().stream().mapToInt(b -> b.queued.get()).sum() + hosts.values().stream().mapToInt(b -> b.queued.get()).sum();
+    }
+
+    /**
+     * @return the current state of each webhook route, keyed without the secret webhook token
+     */
+    public Collection<RouteStats> getStats() {
+        long now = System.nanoTime();
+        return routes.entrySet().stream()
+            .map(e -> e.getValue().stats(e.getKey(), now))
+            .collect(Collectors.toList());
+    }
+
+    private void submit(Bucket route, Bucket host, Runnable request, @Nullable Bucket queuedOn) {
+        if (queuedOn != null) {
+            queuedOn.queued.decrementAndGet();
+        }
+
+        long now = System.nanoTime();
+        long hostWait = host.waitTime(now);
+        Bucket blocking = hostWait > 0 ? host : route;
+        long wait = hostWait > 0 ? hostWait : route.tryAcquire(now);
+        if (wait <= 0) {
+            request.run();
+            return;
+        }
+
+        long delay = Math.min(wait, MAX_WAIT_NANOS);
+        blocking.queued.incrementAndGet();
+        blocking.lastWait = delay;
+        executor.schedule(() -> submit(route, host, request, blocking), delay, TimeUnit.NANOSECONDS);
+        log.debug("Delaying webhook request by {} milliseconds to comply with rate limits", TimeUnit.NANOSECONDS.toMillis(delay));
+    }
+
+    private Bucket route(HttpUrl url) {
+        // the final path segment of a discord webhook url is its secret token
+        List<String> segments = url.pathSegments();
+        String path = String.join("/", segments.subList(0, Math.max(segments.size() - 1, 0)));
+        return routes.computeIfAbsent(url.host() + '/' + path, k -> new Bucket());
+    }
+
+    private Bucket host(HttpUrl url) {
+        return hosts.computeIfAbsent(url.host(), k -> new Bucket());
+    }
+
+    @Nullable
+    private static Integer parseInt(@Nullable String header) {
+        if (header == null) return null;
+        try {
+            return Integer.parseInt(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param header number of seconds, possibly fractional
+     * @return the corresponding nanoseconds, or null if the header is absent or malformed
+     */
+    @Nullable
+    @VisibleForTesting
+    static Long parseSeconds(@Nullable String header) {
+        if (header == null) return null;
+        try {
+            double seconds = Double.parseDouble(header.trim());
+            if (!(seconds >= 0)) return null;
+            return Math.min(Math.round(seconds * 1e9), MAX_WAIT_NANOS);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static class Bucket {
+        private final AtomicInteger queued = new AtomicInteger();
+        private volatile long lastWait = 0;
+        private int limit = -1; // unknown
+        private int remaining = -1; // unknown
+        private long window = 0;
+        private long resetAt = 0;
+
+        synchronized long tryAcquire(long now) {
+            if (remaining < 0) return 0; // no rate limit information yet
+            if (remaining == 0 && now - resetAt >= 0) {
+                // assume the bucket has been replenished until a response says otherwise
+                remaining = limit > 0 ? limit : 1;
+                resetAt = now + window;
+            }
+            if (remaining > 0) {
+                remaining--;
+                return 0;
+            }
+            return resetAt - now;
+        }
+
+        synchronized long waitTime(long now) {
+            return remaining == 0 ? resetAt - now : 0;
+        }
+
+        synchronized void refresh(int limit, int remaining, long now, long resetAfter) {
+            this.limit = limit;
+            this.remaining = remaining;
+            this.window = resetAfter;
+            this.resetAt = now + resetAfter;
+        }
+
+        synchronized void block(long until) {
+            this.remaining = 0;
+            this.resetAt = until;
+        }
+
+        synchronized RouteStats stats(String route, long now) {
+            return new RouteStats(route, queued.get(), remaining, TimeUnit.NANOSECONDS.toMillis(Math.max(waitTime(now), 0)), TimeUnit.NANOSECONDS.toMillis(lastWait));
+        }
+    }
+
+    @Value
+    public static class RouteStats {
+        String route;
+        int queued;
+        /**
+         * Remaining requests in the current window, or -1 if unknown.
+         */
+        int remaining;
+        long waitMillis;
+        long lastDelayMillis;
+    }
+}
@@ -0,0 +1,155 @@
+package dinkplugin.message.templating;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A template string that has been split at each replacement boundary, so evaluation
+ * only appends literal regions and replacement values to a single builder.
+ * <p>
+ * Compiled forms are cached by template string, since most templates come from (rarely changing) config values.
+ */
+final class CompiledTemplate {
+
+    private static final Cache<Key, CompiledTemplate> CACHE = CacheBuilder.newBuilder()
+        .maximumSize(512)
+        .build();
+
+    private final String template;
+
+    /**
+     * Indices of each boundary occurrence within the template.
+     */
+    private final int[] boundaries;
+
+    /**
+     * The candidate replacement key that starts at each boundary and ends at the subsequent boundary.
+     */
+    private final String[] keys;
+
+    private CompiledTemplate(String template, String boundary) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = template.indexOf(boundary); i != -1; i = template.indexOf(boundary, i + 1)) {
+            indices.add(i);
+        }
+
+        this.template = template;
+        this.boundaries = indices.stream().mapToInt(Integer::intValue).toArray();
+        this.keys = new String[Math.max(boundaries.length - 1, 0)];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = template.substring(boundaries[k], boundaries[k + 1] + 1);
+        }
+    }
+
+    /**
+     * Replaces each key (that consists of text wrapped by the boundary) with its evaluated value.
+     * Text that is inserted by a replacement is never considered for further replacements.
+     *
+     * @param replacements the values keyed by the full placeholder (including boundaries)
+     * @param rich         whether rich (markdown) values should be used
+     * @return the evaluated template
+     */
+    String evaluate(@NotNull Map<String, Evaluable> replacements, boolean rich) {
+        if (keys.length == 0 || replacements.isEmpty()) {
+            return template;
+        }
+
+        StringBuilder sb = new StringBuilder(template.length() + 16 * replacements.size());
+        int literalStart = 0;
+        int k = 0;
+        while (k < keys.length) {
+            Evaluable replacement = replacements.get(keys[k]);
+            if (replacement != null) {
+                sb.append(template, literalStart, boundaries[k]).append(replacement.evaluate(rich));
+                literalStart = boundaries[k + 1] + 1;
+                k += 2; // the closing boundary cannot also open the next key
+            } else {
+                k++;
+            }
+        }
+        return sb.append(template, literalStart, template.length()).toString();
+    }
+
+    /**
+     * Replaces each occurrence of each key (in the order the replacements were specified) with its evaluated value,
+     * for templates without a designated replacement boundary.
+     * <p>
+     * Unlike repeated {@link String#replace}, the output is assembled in a single builder
+     * and text that is inserted by a replacement is never considered for further replacements.
+     */
+    static String evaluate(@NotNull String template, @NotNull Map<String, Evaluable> replacements, boolean rich) {
+        if (replacements.isEmpty()) {
+            return template;
+        }
+
+        // claim non-overlapping regions of the template, where earlier keys take precedence
+        List<int[]> claims = new ArrayList<>(); // {start, endExclusive, keyIndex}
+        List<Evaluable> values = new ArrayList<>(replacements.size());
+        for (Map.Entry<String, Evaluable> entry : replacements.entrySet()) {
+            String key = entry.getKey();
+            if (key.isEmpty()) continue;
+
+            int index = values.size();
+            values.add(entry.getValue());
+            int i = template.indexOf(key);
+            while (i != -1) {
+                int end = i + key.length();
+                if (overlaps(claims, i, end)) {
+                    i = template.indexOf(key, i + 1);
+                } else {
+                    claims.add(new int[] { i, end, index });
+                    i = template.indexOf(key, end);
+                }
+            }
+        }
+        if (claims.isEmpty()) {
+            return template;
+        }
+
+        claims.sort(Comparator.comparingInt(claim -> claim[0]));
+        StringBuilder sb = new StringBuilder(template.length() + 16 * claims.size());
+        int literalStart = 0;
+        for (int[] claim : claims) {
+            sb.append(template, literalStart, claim[0]).append(values.get(claim[2]).evaluate(rich));
+            literalStart = claim[1];
+        }
+        return sb.append(template, literalStart, template.length()).toString();
+    }
+
+    private static boolean overlaps(List<int[]> claims, int start, int end) {
+        for (int[] claim : claims) {
+            if (start < claim[1] && claim[0] < end) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param template the raw template string
+     * @param boundary the (single character) replacement boundary
+     * @return the cached compiled form of the template
+     */
+    static CompiledTemplate of(@NotNull String template, @NotNull String boundary) {
+        try {
+            return CACHE.get(new Key(template, boundary), () -> new CompiledTemplate(template, boundary));
+        } catch (ExecutionException e) {
+            // constructor does not throw checked exceptions
+            return new CompiledTemplate(template, boundary);
+        }
+    }
+
+    @Value
+    private static class Key {
+        String template;
+        String boundary;
+    }
+}
@@ -0,0 +1,40 @@
+package dinkplugin.message.templating;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds the plain and rich evaluations of a {@link Template}, since a template is rendered for several request variants
+ * (and may be read by other plugins via {@code PluginMessage} on their own threads).
+ * <p>
+ * Each variant is published through a volatile field, so a reader either observes a fully computed string or computes it.
+ * Callers that race on the first evaluation may both compute the value, which is harmless since evaluation is deterministic.
+ */
+final class RenderMemo {
+    private volatile String plain;
+    private volatile String rich;
+
+    /**
+     * @param rich whether the rich (markdown) evaluation is desired
+     * @return the memoized evaluation, or null if it has not been computed yet
+     */
+    @Nullable
+    String get(boolean rich) {
+        return rich ? this.rich : this.plain;
+    }
+
+    /**
+     * @param rich  whether the value is the rich (markdown) evaluation
+     * @param value the computed evaluation
+     * @return the value, for convenience
+     */
+    @NotNull
+    String set(boolean rich, @NotNull String value) {
+        if (rich) {
+            this.rich = value;
+        } else {
+            this.plain = value;
+        }
+        return value;
+    }
+}
@@ -1,7 +1,10 @@
 package dinkplugin.message.templating;
 
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.Singular;
+import lombok.ToString;
 import lombok.Value;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -21,42 +24,20 @@ public class Template implements Evaluable {
     @Nullable
     String replacementBoundary; // e.g., "%"
 
+    /**
+     * Memoized plain and rich evaluations, which are safely published by {@link RenderMemo}.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    transient RenderMemo rendered = new RenderMemo();
+
     @Override
     public String evaluate(boolean rich) {
-        if (replacementBoundary != null) {
-            return evaluateFast(rich);
-        }
-        return evaluateSlow(rich);
-    }
-
-    private String evaluateSlow(boolean rich) {
-        String message = template;
-        for (Map.Entry<String, Evaluable> e : replacements.entrySet()) {
-            message = message.replace(e.getKey(), e.getValue().evaluate(rich));
-        }
-        return message;
-    }
-
-    private String evaluateFast(boolean rich) {
-        assert replacementBoundary != null;
-        StringBuilder message = new StringBuilder(template);
-        int i = message.indexOf(replacementBoundary);
-        while (i != -1) {
-            int next = message.indexOf(replacementBoundary, i + 1);
-            if (next < 0) break;
-
-            int endExclusive = next + 1;
-            String key = message.substring(i, endExclusive);
-            Evaluable replacement = replacements.get(key);
-            if (replacement != null) {
-                String evaluated = replacement.evaluate(rich);
-                message.replace(i, endExclusive, evaluated);
-                i = endExclusive + evaluated.length() - key.length();
-            } else {
-                i = next;
-            }
-        }
-        return message.toString();
+        String result = rendered.get(rich);
+        if (result != null) return result;
+        return rendered.set(rich, replacementBoundary != null
+            ? CompiledTemplate.of(template, replacementBoundary).evaluate(replacements, rich)
+            : CompiledTemplate.evaluate(template, replacements, rich));
     }
 
     @Override
@@ -1,11 +1,15 @@
 package dinkplugin.notifiers;
 
+import dinkplugin.ConfigSnapshotProvider;
+import dinkplugin.DinkConfigSnapshot;
 import dinkplugin.DinkPluginConfig;
 import dinkplugin.SettingsManager;
 import dinkplugin.domain.SeasonalPolicy;
 import dinkplugin.message.DiscordMessageHandler;
 import dinkplugin.message.NotificationBody;
 import dinkplugin.util.AccountTypeTracker;
+import dinkplugin.util.DinkMetrics;
+import dinkplugin.util.LazyMap;
 import dinkplugin.util.Utils;
 import dinkplugin.util.WorldTypeTracker;
 import dinkplugin.util.WorldUtils;
@@ -16,7 +20,6 @@ import net.runelite.client.events.PluginMessage;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.inject.Inject;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
@@ -27,6 +30,9 @@ public abstract class BaseNotifier {
     @Inject
     protected DinkPluginConfig config;
 
+    @Inject
+    protected ConfigSnapshotProvider configSnapshot;
+
     @Inject
     protected AccountTypeTracker accountTracker;
 
@@ -45,6 +51,9 @@ public abstract class BaseNotifier {
     @Inject
     private DiscordMessageHandler messageHandler;
 
+    @Inject
+    private DinkMetrics metrics;
+
     public boolean isEnabled() {
         return worldTracker.hasValidState() && accountTracker.hasValidState();
     }
@@ -57,13 +66,21 @@ public abstract class BaseNotifier {
 
     protected final void createMessage(String overrideUrl, boolean sendImage, NotificationBody<?> body) {
         // determine target url
+        DinkConfigSnapshot cfg = configSnapshot.get();
         String override;
-        if (StringUtils.isNotBlank(config.leaguesWebhook()) && config.seasonalPolicy() == SeasonalPolicy.FORWARD_TO_LEAGUES && WorldUtils.isSeasonal(client)) {
-            override = config.leaguesWebhook();
+        if (StringUtils.isNotBlank(cfg.getLeaguesWebhook()) && cfg.getSeasonalPolicy() == SeasonalPolicy.FORWARD_TO_LEAGUES && WorldUtils.isSeasonal(client)) {
+            override = cfg.getLeaguesWebhook();
         } else {
             override = overrideUrl;
         }
-        String url = StringUtils.isNotBlank(override) ? override : config.primaryWebhook();
+        String url = StringUtils.isNotBlank(override) ? override : cfg.getPrimaryWebhook();
+
+        // record time since the game event that triggered this notification (only known for chat, death, and loot)
+        String type = body.getType().name();
+        metrics.increment("notifications." + type);
+        if (body.getEventNanos() != 0L) {
+            metrics.recordSince("notifications." + type + ".latencyMicros", body.getEventNanos());
+        }
 
         // post notification to target url
         messageHandler.createMessage(url, sendImage, body);
@@ -72,12 +89,16 @@ public abstract class BaseNotifier {
         var playerName = body.getPlayerName() != null ? body.getPlayerName() : Utils.getPlayerName(client);
         var accountType = body.getAccountType() != null ? body.getAccountType() : Utils.getAccountType(client);
         executor.execute(() -> {
-            Map<String, Object> metadata = body.getExtra() != null ? new HashMap<>(body.getExtra().sanitized()) : new HashMap<>();
-            metadata.put("playerName", playerName);
-            metadata.put("accountType", String.valueOf(accountType));
-            metadata.put("plainText", body.getText().evaluate(false));
-            var payload = new PluginMessage(SettingsManager.CONFIG_GROUP, body.getType().name(), Collections.unmodifiableMap(metadata));
-            eventBus.post(payload);
+            // metadata is only built if a subscriber reads it, since most users have no other plugins consuming these messages
+            // (the plain text evaluation is memoized by the template, so it is shared with the webhook request)
+            Map<String, Object> metadata = LazyMap.of(() -> {
+                Map<String, Object> m = body.getExtra() != null ? new HashMap<>(body.getExtra().sanitized()) : new HashMap<>();
+                m.put("playerName", playerName);
+                m.put("accountType", String.valueOf(accountType));
+                m.put("plainText", body.getText().evaluate(false));
+                return m;
+            });
+            eventBus.post(new PluginMessage(SettingsManager.CONFIG_GROUP, type, metadata));
         });
     }
 
@@ -6,6 +6,8 @@ import dinkplugin.message.NotificationType;
 import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.ChatNotificationData;
+import dinkplugin.util.PatternSet;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.GameState;
@@ -20,27 +22,40 @@ import net.runelite.client.events.NotificationFired;
 import net.runelite.client.util.Text;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Objects;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static dinkplugin.domain.ChatNotificationType.*;
 
 @Singleton
-public class ChatNotifier extends BaseNotifier {
+public class ChatNotifier extends BaseNotifier implements TickListener {
     public static final String PATTERNS_CONFIG_KEY = "chatPatterns";
 
     @Inject
     private ClientThread clientThread;
 
-    private final Collection<Pattern> regexps = new ArrayList<>();
+    /**
+     * Immutable snapshot of the compiled chat patterns, which is swapped (rather than mutated) upon reload
+     * so matching can occur off the client thread. Null while the patterns are being (re)loaded.
+     */
+    private final AtomicReference<PatternSet> patterns = new AtomicReference<>();
     private volatile boolean dirty;
 
+    /**
+     * Dedicated worker for pattern matching, so bursts of chat messages do not compete with webhook requests
+     * and screenshot encoding on the shared executor. The thread exits after a period of inactivity.
+     */
+    @VisibleForTesting
+    Executor matcher = createMatcher();
+
     @Override
     public boolean isEnabled() {
         return config.notifyChat() && super.isEnabled();
@@ -57,19 +72,17 @@ public class ChatNotifier extends BaseNotifier {
 
     public void reset() {
         this.dirty = true;
-        clientThread.invoke(() -> {
-            if (dirty) {
-                regexps.clear();
-            }
-        });
+        patterns.set(null);
     }
 
     public void onConfig(String key) {
         if (PATTERNS_CONFIG_KEY.equals(key)) {
             this.dirty = true;
+            patterns.set(null);
         }
     }
 
+    @Override
     public void onTick() {
         if (this.dirty) {
             var username = Utils.getPlayerName(client);
@@ -81,34 +94,25 @@ public class ChatNotifier extends BaseNotifier {
         }
     }
 
+    @Override
+    public boolean isTickPending() {
+        return this.dirty;
+    }
+
     public void onMessage(@NotNull ChatMessageType messageType, @Nullable String source, @NotNull String message) {
         ChatNotificationType type = ChatNotificationType.MAPPINGS.get(messageType);
         if (type != null && config.chatMessageTypes().contains(type) && isEnabled()) {
-            clientThread.invoke(() -> {
-                if (dirty)
-                    return false; // try later
-
-                if (hasMatch(message)) {
-                    String cleanSource = source != null ? Text.sanitize(source) : null;
-                    this.handleNotify(type, messageType, cleanSource, message);
-                }
-                return true;
-            });
+            long eventNanos = System.nanoTime();
+            String cleanSource = source != null ? Text.sanitize(source) : null;
+            match(message, pattern -> this.handleNotify(type, messageType, cleanSource, message, pattern, eventNanos));
         }
     }
 
     public void onCommand(CommandExecuted event) {
         if (config.chatMessageTypes().contains(COMMAND) && isEnabled()) {
+            long eventNanos = System.nanoTime();
             String fullMessage = join(event);
-            clientThread.invoke(() -> {
-                if (dirty)
-                    return false; // try later
-
-                if (hasMatch(fullMessage)) {
-                    this.handleNotify(COMMAND, ChatMessageType.UNKNOWN, "CommandExecuted", fullMessage);
-                }
-                return true;
-            });
+            match(fullMessage, pattern -> this.handleNotify(COMMAND, ChatMessageType.UNKNOWN, "CommandExecuted", fullMessage, pattern, eventNanos));
         }
     }
 
@@ -118,19 +122,47 @@ public class ChatNotifier extends BaseNotifier {
             return; // avoid duplicate notification (since runelite will also post to chat)
         }
         if (types.contains(RUNELITE) && isEnabled()) {
-            clientThread.invoke(() -> {
-                if (dirty)
-                    return false; // try later
-
-                if (hasMatch(event.getMessage())) {
-                    this.handleNotify(RUNELITE, ChatMessageType.UNKNOWN, "NotificationFired", event.getMessage());
-                }
-                return true;
-            });
+            long eventNanos = System.nanoTime();
+            String message = event.getMessage();
+            match(message, pattern -> this.handleNotify(RUNELITE, ChatMessageType.UNKNOWN, "NotificationFired", message, pattern, eventNanos));
         }
     }
 
-    private void handleNotify(ChatNotificationType dinkType, ChatMessageType type, String source, String message) {
+    /**
+     * Matches the message against the current patterns on the dedicated {@link #matcher} thread,
+     * and hops back to the client thread (which {@link #handleNotify} requires) only if a pattern matched.
+     *
+     * @param message the message to be tested
+     * @param onMatch the callback (to be run on the client thread) that accepts the matched pattern
+     */
+    private void match(String message, Consumer<String> onMatch) {
+        PatternSet snapshot = patterns.get();
+        if (snapshot != null) {
+            match(snapshot, message, onMatch);
+            return;
+        }
+
+        clientThread.invoke(() -> {
+            PatternSet loaded = patterns.get();
+            if (loaded == null)
+                return false; // try later
+
+            match(loaded, message, onMatch);
+            return true;
+        });
+    }
+
+    private void match(PatternSet snapshot, String message, Consumer<String> onMatch) {
+        if (snapshot.isEmpty()) return;
+        matcher.execute(() -> {
+            String pattern = snapshot.findMatch(message);
+            if (pattern != null) {
+                clientThread.invoke(() -> onMatch.accept(pattern));
+            }
+        });
+    }
+
+    private void handleNotify(ChatNotificationType dinkType, ChatMessageType type, String source, String message, String pattern, long eventNanos) {
         var clanTitle = getClanTitle(type, source, message);
         String playerName = Utils.getPlayerName(client);
         Template template = Template.builder()
@@ -143,30 +175,19 @@ public class ChatNotifier extends BaseNotifier {
         createMessage(config.chatSendImage(), NotificationBody.builder()
             .text(template)
             .type(NotificationType.CHAT)
-            .extra(new ChatNotificationData(type, source, clanTitle, message))
+            .extra(new ChatNotificationData(type, source, clanTitle, message, pattern))
             .playerName(playerName)
+            .eventNanos(eventNanos)
             .build());
     }
 
-    private boolean hasMatch(String chatMessage) {
-        for (Pattern pattern : regexps) {
-            if (pattern.matcher(chatMessage).find())
-                return true;
-        }
-        return false;
-    }
-
     private void loadPatterns(String username) {
-        regexps.clear();
-        regexps.addAll(
+        patterns.set(PatternSet.compile(
             config.chatPatterns().lines()
                 .map(String::trim)
                 .filter(s -> !s.isEmpty())
                 .map(s -> s.replace("%USERNAME%", username))
-                .map(Utils::regexify)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList())
-        );
+        ));
     }
 
     @Nullable
@@ -206,6 +227,16 @@ public class ChatNotifier extends BaseNotifier {
         return settings.titleForRank(member.getRank());
     }
 
+    private static Executor createMatcher() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "dink-chat-matcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     private static String getSender(ChatNotificationType type, String source) {
 		if (source == null || source.isEmpty() || type == COMMAND || type == RUNELITE) {
 			return "[" + type + "]";
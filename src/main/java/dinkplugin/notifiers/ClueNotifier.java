@@ -9,6 +9,7 @@ import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.message.templating.impl.JoiningReplacement;
 import dinkplugin.util.ItemUtils;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import dinkplugin.notifiers.data.ClueNotificationData;
 import dinkplugin.notifiers.data.SerializedItemStack;
@@ -34,8 +35,14 @@ import java.util.regex.Pattern;
 
 @Slf4j
 @Singleton
-public class ClueNotifier extends BaseNotifier {
+public class ClueNotifier extends BaseNotifier implements TickListener {
     private static final Pattern CLUE_SCROLL_REGEX = Pattern.compile("You have completed (?<scrollCount>\\d+) (?<scrollType>\\w+) Treasure Trails?\\.");
+
+    /**
+     * Literals that any message handled by {@link #onChatMessage(String)} must contain (case-insensitive).
+     */
+    public static final String[] CHAT_KEYWORDS = { "treasure trail" };
+
     private final AtomicInteger badTicks = new AtomicInteger(); // used to prevent notifs from using stale data
     private volatile int clueCount = -1;
     private volatile String clueType = "";
@@ -87,6 +94,7 @@ public class ClueNotifier extends BaseNotifier {
         }
     }
 
+    @Override
     public void onTick() {
         // Track how many ticks occur where we only have partial clue data
         if (!clueType.isEmpty())
@@ -97,6 +105,11 @@ public class ClueNotifier extends BaseNotifier {
             reset();
     }
 
+    @Override
+    public boolean isTickPending() {
+        return !clueType.isEmpty();
+    }
+
     private void handleNotify(Map<Integer, Integer> clueItems) {
         JoiningReplacement.JoiningReplacementBuilder lootMessage = JoiningReplacement.builder().delimiter("\n");
         AtomicLong totalPrice = new AtomicLong();
@@ -1,17 +1,19 @@
 package dinkplugin.notifiers;
 
+import dinkplugin.DinkPluginConfig;
 import dinkplugin.domain.CollectionLogRank;
 import dinkplugin.message.NotificationBody;
 import dinkplugin.message.NotificationType;
 import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.CollectionNotificationData;
-import dinkplugin.util.ConfigUtil;
 import dinkplugin.util.Drop;
 import dinkplugin.util.ItemSearcher;
 import dinkplugin.util.ItemUtils;
 import dinkplugin.util.KillCountService;
+import dinkplugin.util.PatternSet;
 import dinkplugin.util.RarityService;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
@@ -32,7 +34,6 @@ import javax.inject.Inject;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.NavigableMap;
-import java.util.Objects;
 import java.util.OptionalDouble;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -41,8 +42,13 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Slf4j
-public class CollectionNotifier extends BaseNotifier {
+public class CollectionNotifier extends BaseNotifier implements TickListener {
     static final Pattern COLLECTION_LOG_REGEX = Pattern.compile("New item added to your collection log: (?<itemName>(.*))");
+
+    /**
+     * Literals that any message handled by {@link #onChatMessage(String)} must contain (case-insensitive).
+     */
+    public static final String[] CHAT_KEYWORDS = { "new item added to your collection log: " };
     public static final String ADDITION_WARNING = "Collection notifier will not fire unless you enable the game setting: Collection log - New addition notification";
     public static final int POPUP_PREFIX_LENGTH = "New item:".length();
 
@@ -83,6 +89,11 @@ public class CollectionNotifier extends BaseNotifier {
 
     private boolean initialized = false;
 
+    /**
+     * Compiled {@link DinkPluginConfig#collectionDenylist()}
+     */
+    private volatile PatternSet denylist = PatternSet.EMPTY;
+
     @Override
     public boolean isEnabled() {
         return config.notifyCollectionLog() && super.isEnabled();
@@ -93,6 +104,10 @@ public class CollectionNotifier extends BaseNotifier {
         return config.collectionWebhook();
     }
 
+    public void init() {
+        this.denylist = PatternSet.fromConfig(config.collectionDenylist());
+    }
+
     public void reset() {
         // note: unlike other notifiers, we do not need to reset completed after each message
         // in fact, resetting would be problematic for an edge case with multiple completions in a single tick
@@ -100,11 +115,18 @@ public class CollectionNotifier extends BaseNotifier {
         this.popupStarted.set(false);
     }
 
+    public void onConfigChanged(String key, String value) {
+        if ("collectionDenylist".equals(key)) {
+            this.denylist = PatternSet.fromConfig(value);
+        }
+    }
+
     public void onGameState(GameState newState) {
         if (newState != GameState.HOPPING && newState != GameState.LOGGED_IN)
             this.reset();
     }
 
+    @Override
     public void onTick() {
         if (!initialized) {
             clientThread.invokeLater(this::init);
@@ -121,6 +143,11 @@ public class CollectionNotifier extends BaseNotifier {
         }
     }
 
+    @Override
+    public boolean isTickPending() {
+        return !initialized || completed.get() < 0;
+    }
+
     public void onVarPlayer(VarbitChanged event) {
         if (event.getVarpId() != VarPlayerID.COLLECTION_COUNT)
             return;
@@ -191,12 +218,7 @@ public class CollectionNotifier extends BaseNotifier {
         }
 
         // check denylist
-        boolean denylisted = ConfigUtil.readDelimited(config.collectionDenylist())
-            .map(Utils::regexify)
-            .filter(Objects::nonNull)
-            .map(pattern -> pattern.matcher(itemName))
-            .anyMatch(Matcher::find);
-        if (denylisted) {
+        if (denylist.matches(itemName)) {
             log.debug("Skipping clog notif due to denylist: {}", itemName);
             return;
         }
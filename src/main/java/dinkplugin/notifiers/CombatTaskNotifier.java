@@ -3,6 +3,7 @@ package dinkplugin.notifiers;
 import com.google.common.collect.ImmutableMap;
 import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import dinkplugin.domain.CombatAchievementTier;
 import dinkplugin.message.NotificationBody;
@@ -21,9 +22,10 @@ import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class CombatTaskNotifier extends BaseNotifier {
+public class CombatTaskNotifier extends BaseNotifier implements TickListener {
     private static final Pattern ACHIEVEMENT_PATTERN = Pattern.compile("Congratulations, you've completed an? (?<tier>\\w+) combat task: (?<task>.+)\\.");
     private static final Pattern TASK_POINTS = Pattern.compile("\\s+\\(\\d+ points?\\)$");
+    public static final String[] CHAT_KEYWORDS = { " combat task: " }; // case-insensitive literal from ACHIEVEMENT_PATTERN
     public static final String REPEAT_WARNING = "Combat Task notifier will fire duplicates unless you disable the game setting: Combat Achievement Tasks - Repeat completion";
 
     /**
@@ -54,11 +56,17 @@ public class CombatTaskNotifier extends BaseNotifier {
         return config.combatTaskWebhook();
     }
 
+    @Override
     public void onTick() {
         if (cumulativeUnlockPoints.size() < CUM_POINTS_VARBIT_BY_TIER.size())
             initThresholds();
     }
 
+    @Override
+    public boolean isTickPending() {
+        return cumulativeUnlockPoints.size() < CUM_POINTS_VARBIT_BY_TIER.size();
+    }
+
     public void onGameMessage(String message) {
         if (isEnabled())
             parse(message).ifPresent(pair -> handle(pair.getLeft(), pair.getRight()));
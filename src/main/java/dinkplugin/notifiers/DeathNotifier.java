@@ -68,6 +68,11 @@ public class DeathNotifier extends BaseNotifier {
 
     private static final String FORTIS_DOOM_MSG = "You have been doomed!";
 
+    /**
+     * Literals that any message handled by {@link #onGameMessage(String)} must contain (case-insensitive).
+     */
+    public static final String[] CHAT_KEYWORDS = { FORTIS_DOOM_MSG, TOA_DEATH_MSG };
+
     /**
      * @see <a href="https://github.com/Joshua-F/cs2-scripts/blob/master/scripts/%5Bclientscript,tob_hud_portal%5D.cs2">CS2 Reference</a>
      */
@@ -190,6 +195,7 @@ public class DeathNotifier extends BaseNotifier {
     }
 
     private void handleNotify(Danger dangerOverride) {
+        long eventNanos = System.nanoTime();
         int regionId = WorldUtils.getLocation(client).getRegionID();
         if (ignoredRegions.contains(regionId))
             return;
@@ -258,6 +264,7 @@ public class DeathNotifier extends BaseNotifier {
             .extra(extra)
             .embeds(keptItemEmbeds)
             .type(NotificationType.DEATH)
+            .eventNanos(eventNanos)
             .build());
     }
 
@@ -452,7 +459,7 @@ public class DeathNotifier extends BaseNotifier {
     private static List<SerializedItemStack> getStacks(ItemManager itemManager, List<Pair<Item, Long>> pricedItems, boolean reduce) {
         Collection<Item> items = pricedItems.stream().map(Pair::getLeft).collect(Collectors.toList());
         if (reduce) {
-            items = ItemUtils.reduceItems(items).values();
+            items = ItemUtils.reduceItems(items);
         }
         return items.stream()
             .map(item -> ItemUtils.stackFromItem(itemManager, item))
@@ -6,6 +6,7 @@ import dinkplugin.message.NotificationType;
 import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.DiaryNotificationData;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.GameState;
@@ -26,7 +27,7 @@ import static dinkplugin.domain.AchievementDiary.DIARIES;
 
 @Slf4j
 @Singleton
-public class DiaryNotifier extends BaseNotifier {
+public class DiaryNotifier extends BaseNotifier implements TickListener {
 
     /**
      * @see <a href="https://github.com/Joshua-F/cs2-scripts/blob/master/scripts/%5Bproc,script3971%5D.cs2">CS2 Reference</a>
@@ -77,6 +78,7 @@ public class DiaryNotifier extends BaseNotifier {
             this.reset();
     }
 
+    @Override
     public void onTick() {
         if (client.getGameState() != GameState.LOGGED_IN)
             return;
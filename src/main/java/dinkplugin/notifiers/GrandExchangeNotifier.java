@@ -13,6 +13,7 @@ import dinkplugin.notifiers.data.SerializedItemStack;
 import dinkplugin.util.ConfigUtil;
 import dinkplugin.util.ItemUtils;
 import dinkplugin.util.SerializedOffer;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -41,7 +42,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
-public class GrandExchangeNotifier extends BaseNotifier {
+public class GrandExchangeNotifier extends BaseNotifier implements TickListener {
     private static final Set<Integer> TAX_EXEMPT_ITEMS;
     private static final int LOGIN_DELAY = 2;
     private static final String RL_GE_PLUGIN_NAME = GrandExchangePlugin.class.getSimpleName().toLowerCase();
@@ -79,10 +80,16 @@ public class GrandExchangeNotifier extends BaseNotifier {
             initTicks.set(LOGIN_DELAY);
     }
 
+    @Override
     public void onTick() {
         initTicks.updateAndGet(i -> Math.max(i - 1, 0));
     }
 
+    @Override
+    public boolean isTickPending() {
+        return initTicks.get() > 0;
+    }
+
     public void onOfferChange(int slot, GrandExchangeOffer offer) {
         if (shouldNotify(slot, offer)) {
             clientThread.invoke(() -> {
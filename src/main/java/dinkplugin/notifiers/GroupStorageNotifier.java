@@ -6,6 +6,7 @@ import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.GroupStorageNotificationData;
 import dinkplugin.notifiers.data.SerializedItemStack;
+import dinkplugin.util.IntIntMap;
 import dinkplugin.util.ItemUtils;
 import net.runelite.api.Item;
 import net.runelite.api.ItemContainer;
@@ -24,16 +25,12 @@ import org.jetbrains.annotations.VisibleForTesting;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.function.BiFunction;
-import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -52,12 +49,6 @@ public class GroupStorageNotifier extends BaseNotifier {
      */
     static final @VisibleForTesting String EMPTY_TRANSACTION = "N/A";
 
-    /**
-     * Adds two integers, but yields null if the sum is zero
-     * (which removes the entry via Map#merge in {@link GroupStorageNotifier#computeDifference(Map, Map)}).
-     */
-    private static final BinaryOperator<Integer> SUM;
-
     @Inject
     private ClientThread clientThread;
 
@@ -68,7 +59,7 @@ public class GroupStorageNotifier extends BaseNotifier {
      * Items in the player's inventory when the group storage was opened.
      * Entries map item id to total quantity (across stacks).
      */
-    private Map<Integer, Integer> initialInventory = Collections.emptyMap();
+    private IntIntMap initialInventory = new IntIntMap(0);
 
     @Override
     public boolean isEnabled() {
@@ -81,7 +72,7 @@ public class GroupStorageNotifier extends BaseNotifier {
     }
 
     public void reset() {
-        clientThread.invoke(() -> initialInventory = Collections.emptyMap());
+        clientThread.invoke(() -> initialInventory = new IntIntMap(0));
     }
 
     public void onWidgetLoad(WidgetLoaded event) {
@@ -109,7 +100,7 @@ public class GroupStorageNotifier extends BaseNotifier {
         if (isEnabled() && StringUtils.containsIgnoreCase(widget.getText(), "Saving")) {
             ItemContainer inv = getInventory();
             if (inv != null) {
-                Map<Integer, Integer> updatedInventory = reduce(inv.getItems());
+                IntIntMap updatedInventory = reduce(inv.getItems());
                 Map<Integer, Integer> delta = computeDifference(initialInventory, updatedInventory);
                 if (!delta.isEmpty()) {
                     handleNotify(delta);
@@ -219,30 +210,33 @@ public class GroupStorageNotifier extends BaseNotifier {
      * @param items array of items (e.g., in the player's inventory)
      * @return mappings of item id to total quantity of the item (across stacks)
      */
-    private Map<Integer, Integer> reduce(Item[] items) {
-        return Arrays.stream(items)
-            .filter(Objects::nonNull)
-            .filter(item -> item.getId() >= 0)
-            .filter(item -> item.getQuantity() > 0)
-            .collect(Collectors.toMap(i -> ItemUtils.canonicalizeItem(itemManager, i.getId()), Item::getQuantity, Integer::sum));
+    private IntIntMap reduce(Item[] items) {
+        IntIntMap quantities = new IntIntMap(items.length);
+        for (Item item : items) {
+            if (item == null || item.getId() < 0 || item.getQuantity() <= 0)
+                continue;
+
+            int id = ItemUtils.canonicalizeItem(itemManager, item.getId());
+            quantities.put(id, quantities.get(id, 0) + item.getQuantity());
+        }
+        return quantities;
     }
 
     /**
      * @param before the reduced item mappings when the group storage was first opened
      * @param after  the reduced item mappings after the save operation
-     * @param <K>    generic key to merge the maps (always Integer in this notifier)
      * @return mappings of item id to change in quantity, excluding items with no change
      */
-    private static <K> Map<K, Integer> computeDifference(Map<K, Integer> before, Map<K, Integer> after) {
-        Map<K, Integer> delta = new HashMap<>(after);
-        before.forEach((id, quantity) -> delta.merge(id, -quantity, SUM));
+    private static Map<Integer, Integer> computeDifference(IntIntMap before, IntIntMap after) {
+        // quantities are always positive, so a missing key is equivalent to zero
+        Map<Integer, Integer> delta = new HashMap<>();
+        after.forEach((id, quantity) -> {
+            int diff = quantity - before.get(id, 0);
+            if (diff != 0) delta.put(id, diff);
+        });
+        before.forEach((id, quantity) -> {
+            if (after.get(id, 0) == 0) delta.put(id, -quantity);
+        });
         return delta;
     }
-
-    static {
-        SUM = (a, b) -> {
-            int sum = a + b;
-            return sum != 0 ? sum : null;
-        };
-    }
 }
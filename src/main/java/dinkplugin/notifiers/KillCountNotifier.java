@@ -6,6 +6,7 @@ import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.BossNotificationData;
 import dinkplugin.util.KillCountService;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.TimeUtils;
 import dinkplugin.util.Utils;
 import lombok.Value;
@@ -32,7 +33,7 @@ import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 
 @Slf4j
 @Singleton
-public class KillCountNotifier extends BaseNotifier {
+public class KillCountNotifier extends BaseNotifier implements TickListener {
 
     public static final String SPAM_WARNING = "Kill Count Notifier requires disabling the in-game setting: Filter out boss kill-count with spam-filter";
 
@@ -42,6 +43,12 @@ public class KillCountNotifier extends BaseNotifier {
 
     private static final String BA_BOSS_NAME = "Penance Queen";
 
+    /**
+     * Literals that any message handled by {@link #onGameMessage(String)} must contain (case-insensitive),
+     * based on {@link #PRIMARY_REGEX}, {@link #SECONDARY_REGEX}, and {@link #TIME_REGEX}.
+     */
+    public static final String[] CHAT_KEYWORDS = { "count is", "duration", "time", "subdued in" };
+
     /**
      * The maximum number of ticks to hold onto a fight duration without a corresponding boss name.
      * <p>
@@ -98,6 +105,7 @@ public class KillCountNotifier extends BaseNotifier {
         }
     }
 
+    @Override
     public void onTick() {
         BossNotificationData data = this.data.get();
         if (data != null) {
@@ -116,6 +124,11 @@ public class KillCountNotifier extends BaseNotifier {
         }
     }
 
+    @Override
+    public boolean isTickPending() {
+        return data.get() != null;
+    }
+
     private void handleKill(BossNotificationData data) {
         // ensure data is present
         if (data.getBoss() == null || data.getCount() == null)
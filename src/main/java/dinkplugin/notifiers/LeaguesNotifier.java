@@ -39,6 +39,11 @@ public class LeaguesNotifier extends BaseNotifier {
     private static final Pattern TASK_REGEX = Pattern.compile("Congratulations, you've completed an? (?<tier>\\w+) task: (?<task>.+)\\.");
     private static final Pattern MASTERY_REGEX = Pattern.compile("Congratulations, you've unlocked a new .+ Combat Mastery: (?<type>\\w+) (?<tier>\\w+)\\.");
 
+    /**
+     * Literals that any message handled by {@link #onGameMessage(String)} must contain (case-insensitive).
+     */
+    public static final String[] CHAT_KEYWORDS = { "congratulations, you've unlocked a new ", "congratulations, you've completed a" };
+
     /**
      * @see <a href="https://oldschool.runescape.wiki/w/Demonic_Pacts_League#Areas">Wiki Reference</a>
      */
@@ -8,6 +8,7 @@ import dinkplugin.message.templating.Template;
 import dinkplugin.message.templating.impl.JoiningReplacement;
 import dinkplugin.notifiers.data.LevelNotificationData;
 import dinkplugin.notifiers.data.XpNotificationData;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Experience;
@@ -36,7 +37,7 @@ import static net.runelite.api.Experience.MAX_REAL_LEVEL;
 
 @Slf4j
 @Singleton
-public class LevelNotifier extends BaseNotifier {
+public class LevelNotifier extends BaseNotifier implements TickListener {
     public static final int LEVEL_FOR_MAX_XP = Experience.MAX_VIRT_LEVEL + 1; // 127
     static final @VisibleForTesting int INIT_GAME_TICKS = 16; // ~10s
     private static final Set<WorldType> SPECIAL_WORLDS = EnumSet.of(WorldType.PVP_ARENA, WorldType.QUEST_SPEEDRUNNING, WorldType.BETA_WORLD, WorldType.NOSAVE_MODE, WorldType.TOURNAMENT_WORLD, WorldType.DEADMAN, WorldType.SEASONAL);
@@ -87,6 +88,7 @@ public class LevelNotifier extends BaseNotifier {
         });
     }
 
+    @Override
     public void onTick() {
         if (this.initTicks > INIT_GAME_TICKS) {
             initLevels();
@@ -114,6 +116,11 @@ public class LevelNotifier extends BaseNotifier {
         }
     }
 
+    @Override
+    public boolean isTickPending() {
+        return this.initTicks > INIT_GAME_TICKS || currentLevels.size() < SKILL_COUNT || !levelledSkills.isEmpty() || !xpReached.isEmpty();
+    }
+
     public void onStatChanged(StatChanged statChange) {
         this.handleLevelUp(statChange.getSkill(), statChange.getLevel(), statChange.getXp());
     }
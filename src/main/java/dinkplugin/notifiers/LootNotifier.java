@@ -1,5 +1,6 @@
 package dinkplugin.notifiers;
 
+import dinkplugin.DinkConfigSnapshot;
 import dinkplugin.domain.LootCriteria;
 import dinkplugin.message.Embed;
 import dinkplugin.message.NotificationBody;
@@ -18,6 +19,7 @@ import dinkplugin.util.ConfigUtil;
 import dinkplugin.util.ItemUtils;
 import dinkplugin.util.KillCountService;
 import dinkplugin.util.MathUtils;
+import dinkplugin.util.PatternSet;
 import dinkplugin.util.RarityService;
 import dinkplugin.util.ThievingService;
 import dinkplugin.util.Utils;
@@ -42,12 +44,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.OptionalDouble;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -56,6 +55,11 @@ public class LootNotifier extends BaseNotifier {
 
     public static final Set<Integer> SERVER_LOOT_NPC_IDS;
 
+    /**
+     * Literals that any message handled by {@link #onGameMessage(String)} must contain (case-insensitive).
+     */
+    public static final String[] CHAT_KEYWORDS = { "pharaoh's sceptre", "you catch a ", "some paint!" };
+
     @Inject
     private ItemManager itemManager;
 
@@ -71,36 +75,23 @@ public class LootNotifier extends BaseNotifier {
     @Inject
     private ThievingService thievingService;
 
-    private final Collection<Pattern> itemNameAllowlist = new CopyOnWriteArrayList<>();
-    private final Collection<Pattern> itemNameDenylist = new CopyOnWriteArrayList<>();
+    private volatile PatternSet itemNameAllowlist = PatternSet.EMPTY;
+    private volatile PatternSet itemNameDenylist = PatternSet.EMPTY;
     private final Collection<String> sourceDenylist = new CopyOnWriteArraySet<>();
 
     @Override
     public boolean isEnabled() {
-        return config.notifyLoot() && super.isEnabled();
+        return configSnapshot.get().isNotifyLoot() && super.isEnabled();
     }
 
     @Override
     protected String getWebhookUrl() {
-        return config.lootWebhook();
+        return configSnapshot.get().getLootWebhook();
     }
 
     public void init() {
-        itemNameAllowlist.clear();
-        itemNameAllowlist.addAll(
-            ConfigUtil.readDelimited(config.lootItemAllowlist())
-                .map(Utils::regexify)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList())
-        );
-
-        itemNameDenylist.clear();
-        itemNameDenylist.addAll(
-            ConfigUtil.readDelimited(config.lootItemDenylist())
-                .map(Utils::regexify)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList())
-        );
+        itemNameAllowlist = PatternSet.fromConfig(config.lootItemAllowlist());
+        itemNameDenylist = PatternSet.fromConfig(config.lootItemDenylist());
 
         sourceDenylist.clear();
         sourceDenylist.addAll(
@@ -121,22 +112,11 @@ public class LootNotifier extends BaseNotifier {
             return;
         }
 
-        Collection<Pattern> itemNames;
         if ("lootItemAllowlist".equals(key)) {
-            itemNames = itemNameAllowlist;
+            itemNameAllowlist = PatternSet.fromConfig(value);
         } else if ("lootItemDenylist".equals(key)) {
-            itemNames = itemNameDenylist;
-        } else {
-            return;
+            itemNameDenylist = PatternSet.fromConfig(value);
         }
-
-        itemNames.clear();
-        itemNames.addAll(
-            ConfigUtil.readDelimited(value)
-                .map(Utils::regexify)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList())
-        );
     }
 
     public void onServerNpcLoot(ServerNpcLoot event) {
@@ -163,7 +143,7 @@ public class LootNotifier extends BaseNotifier {
         if (WorldUtils.isSafeArea(client))
             return;
 
-        if (config.includePlayerLoot() && isEnabled())
+        if (configSnapshot.get().isIncludePlayerLoot() && isEnabled())
             this.handleNotify(event.getItems(), event.getPlayer().getName(), LootRecordType.PLAYER, null);
     }
 
@@ -172,12 +152,12 @@ public class LootNotifier extends BaseNotifier {
 
         // only consider non-NPC and non-PK loot
         if (lootReceived.getType() == LootRecordType.EVENT || lootReceived.getType() == LootRecordType.PICKPOCKET) {
-            if ("Barbarian Assault high gamble".equals(lootReceived.getName()) && !config.lootIncludeGambles()) {
+            if ("Barbarian Assault high gamble".equals(lootReceived.getName()) && !configSnapshot.get().isLootIncludeGambles()) {
                 // skip ba gambles, depending on config (since we have GambleNotifier)
                 return;
             }
 
-            if (!config.lootIncludeClueScrolls() && StringUtils.startsWithIgnoreCase(lootReceived.getName(), "Clue Scroll")) {
+            if (!configSnapshot.get().isLootIncludeClueScrolls() && StringUtils.startsWithIgnoreCase(lootReceived.getName(), "Clue Scroll")) {
                 // skip clue scroll loot, depending on config
                 return;
             }
@@ -213,14 +193,16 @@ public class LootNotifier extends BaseNotifier {
     }
 
     private void handleNotify(Collection<ItemStack> items, String dropper, LootRecordType type, Integer npcId) {
+        long eventNanos = System.nanoTime();
         if (type != LootRecordType.PLAYER && sourceDenylist.contains(dropper.toLowerCase())) {
             log.debug("Skipping loot notif for denied loot source: {} ({})", dropper, type);
             return;
         }
 
+        final DinkConfigSnapshot cfg = configSnapshot.get();
         final Integer kc = killCountService.getKillCount(type, dropper);
-        final int minValue = config.minLootValue();
-        final boolean icons = config.lootIcons();
+        final int minValue = cfg.getMinLootValue();
+        final boolean icons = cfg.isLootIcons();
 
         Collection<ItemStack> reduced = ItemUtils.reduceItemStack(items);
         List<SerializedItemStack> serializedItems = new ArrayList<>(reduced.size());
@@ -233,8 +215,8 @@ public class LootNotifier extends BaseNotifier {
         SerializedItemStack max = null;
         RareItemStack rarest = null;
 
-        final double rarityThreshold = config.lootRarityThreshold() > 0 ? 1.0 / config.lootRarityThreshold() : Double.NaN;
-        final boolean intersection = config.lootRarityValueIntersection() && Double.isFinite(rarityThreshold);
+        final double rarityThreshold = cfg.getLootRarityThreshold() > 0 ? 1.0 / cfg.getLootRarityThreshold() : Double.NaN;
+        final boolean intersection = cfg.isLootRarityValueIntersection() && Double.isFinite(rarityThreshold);
         for (ItemStack item : reduced) {
             SerializedItemStack stack = ItemUtils.stackFromItem(itemManager, item.getId(), item.getQuantity());
             long totalPrice = stack.getTotalPrice();
@@ -262,12 +244,12 @@ public class LootNotifier extends BaseNotifier {
                 shouldSend = criteria.contains(LootCriteria.VALUE) || criteria.contains(LootCriteria.RARITY);
             }
 
-            boolean denied = matches(itemNameDenylist, stack.getName());
+            boolean denied = itemNameDenylist.matches(stack.getName());
             if (denied) {
                 shouldSend = false;
                 criteria.add(LootCriteria.DENYLIST);
             } else {
-                if (matches(itemNameAllowlist, stack.getName())) {
+                if (itemNameAllowlist.matches(stack.getName())) {
                     shouldSend = true;
                     onAllowList = true;
                     criteria.add(LootCriteria.ALLOWLIST);
@@ -324,20 +306,20 @@ public class LootNotifier extends BaseNotifier {
                     .orElse(null);
             }
 
-            String overrideUrl = getWebhookUrl();
-            if (config.lootRedirectPlayerKill() && !config.pkWebhook().isBlank()) {
+            String overrideUrl = cfg.getLootWebhook();
+            if (cfg.isLootRedirectPlayerKill() && !cfg.getPkWebhook().isBlank()) {
                 if (type == LootRecordType.PLAYER || (type == LootRecordType.EVENT && "Loot Chest".equals(dropper))) {
-                    overrideUrl = config.pkWebhook();
+                    overrideUrl = cfg.getPkWebhook();
                 }
             }
             Double rarity = rarest != null ? rarest.getRarity() : null;
-            boolean screenshot = config.lootSendImage() && (totalStackValue >= config.lootImageMinValue() || onAllowList);
+            boolean screenshot = cfg.isLootSendImage() && (totalStackValue >= cfg.getLootImageMinValue() || onAllowList);
             Collection<String> party = toaData != null ? toaData.getParty() : (type == LootRecordType.EVENT ? Utils.getBossParty(client, dropper) : null);
             Evaluable source = type == LootRecordType.PLAYER
-                ? Replacements.ofLink(dropper, config.playerLookupService().getPlayerUrl(dropper))
+                ? Replacements.ofLink(dropper, cfg.getPlayerLookupService().getPlayerUrl(dropper))
                 : Replacements.ofWiki(dropper);
             Template notifyMessage = Template.builder()
-                .template(config.lootNotifyMessage())
+                .template(cfg.getLootNotifyMessage())
                 .replacementBoundary("%")
                 .replacement("%USERNAME%", Replacements.ofText(Utils.getPlayerName(client)))
                 .replacement("%LOOT%", lootMsg)
@@ -352,19 +334,12 @@ public class LootNotifier extends BaseNotifier {
                     .extra(new LootNotificationData(serializedItems, dropper, type, kc, rarity, party, npcId, toaData))
                     .type(NotificationType.LOOT)
                     .thumbnailUrl(ItemUtils.getItemImageUrl(max.getId()))
+                    .eventNanos(eventNanos)
                     .build()
             );
         }
     }
 
-    private static boolean matches(Collection<Pattern> regexps, String input) {
-        for (Pattern regex : regexps) {
-            if (regex.matcher(input).find())
-                return true;
-        }
-        return false;
-    }
-
     static {
         SERVER_LOOT_NPC_IDS = Set.of(
             NpcID.YAMA,
@@ -17,6 +17,7 @@ import dinkplugin.util.AmascutTracker;
 import dinkplugin.util.ConfigUtil;
 import dinkplugin.util.ItemUtils;
 import dinkplugin.util.SerializedPet;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Experience;
@@ -52,7 +53,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Singleton
-public class MetaNotifier extends BaseNotifier {
+public class MetaNotifier extends BaseNotifier implements TickListener {
     static final @VisibleForTesting String RL_CHAT_CMD_PLUGIN_NAME = ChatCommandsPlugin.class.getSimpleName().toLowerCase();
     static final @VisibleForTesting int INIT_TICKS = 10; // 6 seconds after login
     private static final int SARCOPHAGUS_WALL_ID = ObjectID.TOA_VAULT_BARRIER_PARENT;
@@ -113,6 +114,7 @@ public class MetaNotifier extends BaseNotifier {
         }
     }
 
+    @Override
     public void onTick() {
         if (cachedPlayerName == null) {
             cachedPlayerName = Utils.getPlayerName(client);
@@ -122,6 +124,11 @@ public class MetaNotifier extends BaseNotifier {
         }
     }
 
+    @Override
+    public boolean isTickPending() {
+        return cachedPlayerName == null || loginTicks.get() >= 0;
+    }
+
     public void reset() {
         cachedPlayerName = null;
     }
@@ -10,6 +10,7 @@ import dinkplugin.util.ItemUtils;
 import dinkplugin.util.KillCountService;
 import dinkplugin.util.MathUtils;
 import dinkplugin.util.SerializedLoot;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
@@ -43,7 +44,7 @@ import static dinkplugin.notifiers.CollectionNotifier.COLLECTION_LOG_REGEX;
 import static java.util.Map.entry;
 
 @Singleton
-public class PetNotifier extends BaseNotifier {
+public class PetNotifier extends BaseNotifier implements TickListener {
 
     public static final String UNTRADEABLE_WARNING = "Pet Notifier cannot reliably identify pet names unless you enable the game setting: Untradeable loot notifications";
 
@@ -177,6 +178,7 @@ public class PetNotifier extends BaseNotifier {
         }
     }
 
+    @Override
     public void onTick() {
         if (petName == null)
             return;
@@ -190,6 +192,11 @@ public class PetNotifier extends BaseNotifier {
         }
     }
 
+    @Override
+    public boolean isTickPending() {
+        return petName != null;
+    }
+
     public void reset() {
         this.petName = null;
         this.milestone = null;
@@ -252,7 +259,8 @@ public class PetNotifier extends BaseNotifier {
         return itemName.startsWith("Pet ") || PET_NAMES_TO_SOURCE.containsKey(Utils.ucFirst(itemName));
     }
 
-    private static Optional<ParseResult> parseItemFromGameMessage(String message) {
+    @VisibleForTesting
+    static Optional<ParseResult> parseItemFromGameMessage(String message) {
         Matcher untradeableMatcher = UNTRADEABLE_REGEX.matcher(message);
         if (untradeableMatcher.find()) {
             return Optional.of(new ParseResult(untradeableMatcher.group(1), false));
@@ -9,6 +9,7 @@ import dinkplugin.message.templating.Template;
 import dinkplugin.notifiers.data.PlayerKillNotificationData;
 import dinkplugin.notifiers.data.SerializedItemStack;
 import dinkplugin.util.ItemUtils;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.WorldUtils;
 import net.runelite.api.Actor;
 import net.runelite.api.Hitsplat;
@@ -30,7 +31,7 @@ import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Singleton
-public class PlayerKillNotifier extends BaseNotifier {
+public class PlayerKillNotifier extends BaseNotifier implements TickListener {
 
     private static final KitType[] EQUIPMENT;
 
@@ -94,6 +95,7 @@ public class PlayerKillNotifier extends BaseNotifier {
         attacked.merge(target, amount, Integer::sum);
     }
 
+    @Override
     public void onTick() {
         // micro-optimization: this check is very fast for empty WeakHashMap & can avoid creating a HashIterator
         if (attacked.isEmpty())
@@ -107,6 +109,11 @@ public class PlayerKillNotifier extends BaseNotifier {
         attacked.clear();
     }
 
+    @Override
+    public boolean isTickPending() {
+        return !attacked.isEmpty();
+    }
+
     private void handleKill(Player target, int myLastDamage) {
         if (!isEnabled())
             return;
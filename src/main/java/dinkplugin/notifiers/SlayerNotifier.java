@@ -6,6 +6,7 @@ import dinkplugin.message.templating.Evaluable;
 import dinkplugin.message.templating.Replacements;
 import dinkplugin.message.templating.Template;
 import dinkplugin.message.templating.impl.JoiningReplacement;
+import dinkplugin.util.TickListener;
 import dinkplugin.util.Utils;
 import dinkplugin.notifiers.data.SlayerNotificationData;
 import org.apache.commons.lang3.tuple.Pair;
@@ -21,13 +22,20 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Singleton
-public class SlayerNotifier extends BaseNotifier {
-    private static final Pattern BOSS_REGEX = Pattern.compile("You are granted .+ Slayer XP for completing your boss task against(?: the)? (?<name>.+)\\.$");
+public class SlayerNotifier extends BaseNotifier implements TickListener {
+    @VisibleForTesting
+    static final Pattern BOSS_REGEX = Pattern.compile("You are granted .+ Slayer XP for completing your boss task against(?: the)? (?<name>.+)\\.$");
     @VisibleForTesting
     static final Pattern SLAYER_TASK_REGEX = Pattern.compile("You have completed your task! You killed (?<task>[\\d,]+ [^.]+)\\..*");
-    private static final Pattern SLAYER_COMPLETE_REGEX = Pattern.compile("You've completed (?:at least )?(?<taskCount>[\\d,]+) (?:Wilderness |Mortimer )?tasks?(?: and received (?<points>[\\d,]+) points, giving you a total of [\\d,]+|\\.You'll be eligible to earn reward points if you complete tasks from a more advanced Slayer Master\\.| and reached the maximum amount of Slayer points \\((?<points2>[\\d,]+)\\))?");
+    @VisibleForTesting
+    static final Pattern SLAYER_COMPLETE_REGEX = Pattern.compile("You've completed (?:at least )?(?<taskCount>[\\d,]+) (?:Wilderness |Mortimer )?tasks?(?: and received (?<points>[\\d,]+) points, giving you a total of [\\d,]+|\\.You'll be eligible to earn reward points if you complete tasks from a more advanced Slayer Master\\.| and reached the maximum amount of Slayer points \\((?<points2>[\\d,]+)\\))?");
     private static final Pattern TASK_MONSTER_REGEX = Pattern.compile("^(?<count>\\d*)\\s*(?<monster>.+)$");
 
+    /**
+     * Literals that any message handled by {@link #onChatMessage(String)} must contain (case-insensitive).
+     */
+    public static final String[] CHAT_KEYWORDS = { "boss task against", "you have completed your task!", "you've completed " };
+
     private final AtomicReference<String> slayerTask = new AtomicReference<>("");
     private final AtomicInteger badTicks = new AtomicInteger(); // used to prevent notifs from using stale data
 
@@ -86,6 +94,7 @@ public class SlayerNotifier extends BaseNotifier {
         }
     }
 
+    @Override
     public void onTick() {
         // Track how many ticks occur where we only have partial slayer data
         if (!slayerTask.get().isEmpty())
@@ -96,6 +105,11 @@ public class SlayerNotifier extends BaseNotifier {
             reset();
     }
 
+    @Override
+    public boolean isTickPending() {
+        return !slayerTask.get().isEmpty();
+    }
+
     private void handleNotify(String slayerPoints, String slayerCompleted) {
         String task = slayerTask.get();
         if (task.isEmpty() || slayerPoints.isEmpty() || slayerCompleted.isEmpty()) {
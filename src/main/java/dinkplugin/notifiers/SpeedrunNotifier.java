@@ -17,6 +17,11 @@ import java.time.Duration;
 
 @Slf4j
 public class SpeedrunNotifier extends BaseNotifier {
+    /**
+     * Literals that any message handled by {@link #onGameMessage(String)} must contain (case-insensitive).
+     */
+    public static final String[] CHAT_KEYWORDS = { "speedrun duration: " };
+
     private boolean isPersonalBest = false;
 
     @Override
@@ -37,11 +37,18 @@ public class ChatNotificationData extends NotificationData {
     @NotNull
     String message;
 
+    /**
+     * The configured chat pattern that matched the message (with {@code %USERNAME%} already substituted).
+     */
+    @NotNull
+    String pattern;
+
     @Override
     public Map<String, Object> sanitized() {
         var m = new HashMap<String, Object>();
         m.put("type", type);
         m.put("message", message);
+        m.put("pattern", pattern);
         if (source != null) m.put("source", source);
         if (clanTitle != null) m.put("clanTitle", clanTitle);
         return m;
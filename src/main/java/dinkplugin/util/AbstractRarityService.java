@@ -1,12 +1,14 @@
 package dinkplugin.util;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Setter;
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ItemComposition;
 import net.runelite.client.game.ItemManager;
@@ -16,65 +18,161 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
 
 @Slf4j
 public abstract class AbstractRarityService {
 
+    /**
+     * The maximum number of sources whose drops are decoded at once; players tend to kill a small set of monsters.
+     */
+    private static final int MAX_DECODED_SOURCES = 64;
+
     protected final Gson gson;
     protected final ItemManager itemManager;
-    protected final Map<String, Collection<RareDrop>> dropsBySourceName;
+    protected final DropTable drops;
+
+    /**
+     * Indexed drops of recently queried sources, keyed by source index.
+     */
+    private final LoadingCache<Integer, SourceDrops> decoded;
 
-    AbstractRarityService(String resourceName, int expectedSize, Gson gson, ItemManager itemManager) {
+    /**
+     * @param resourceName either the binary {@link DropTable} encoding, or a (hand-maintained) json file of {@link RawDrop} lists keyed by source name
+     */
+    AbstractRarityService(String resourceName, Gson gson, ItemManager itemManager) {
         this.gson = gson;
         this.itemManager = itemManager;
-        this.dropsBySourceName = new HashMap<>(expectedSize);
 
-        Map<String, List<RawDrop>> raw;
-        try (InputStream is = getClass().getResourceAsStream(resourceName);
-             Reader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(is)))) {
-            raw = gson.fromJson(reader, new TypeToken<Map<String, List<RawDrop>>>() {}.getType());
+        DropTable table;
+        try (InputStream is = Objects.requireNonNull(getClass().getResourceAsStream(resourceName))) {
+            table = resourceName.endsWith(".json") ? readJson(is) : DropTable.read(is);
         } catch (Exception e) {
             log.error("Failed to read monster drop rates", e);
-            return;
+            table = DropTable.builder().build();
         }
-
-        raw.forEach((sourceName, rawDrops) -> {
-            ArrayList<RareDrop> drops = rawDrops.stream()
-                .map(RawDrop::transform)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toCollection(ArrayList::new));
-            drops.trimToSize();
-            dropsBySourceName.put(sourceName, drops);
-        });
+        this.drops = table;
+        this.decoded = CacheBuilder.newBuilder()
+            .maximumSize(MAX_DECODED_SOURCES)
+            .build(CacheLoader.from(source -> new SourceDrops(drops.decode(source))));
     }
 
     public OptionalDouble getRarity(String sourceName, int itemId, int quantity) {
+        int source = drops.indexOf(sourceName);
+        if (source < 0) return OptionalDouble.empty();
+        SourceDrops sourceDrops = decoded.getUnchecked(source);
+
         ItemComposition composition = itemId >= 0 ? itemManager.getItemComposition(itemId) : null;
         int canonical = composition != null && composition.getNote() != -1 ? composition.getLinkedNoteId() : itemId;
         String itemName = composition != null ? composition.getMembersName() : "";
-        Collection<Integer> variants = new HashSet<>(
-            ItemVariationMapping.getVariations(ItemVariationMapping.map(canonical))
-        );
-        return dropsBySourceName.getOrDefault(sourceName, Collections.emptyList())
-            .stream()
-            .filter(drop -> drop.getMinQuantity() <= quantity && quantity <= drop.getMaxQuantity())
-            .filter(drop -> {
-                int id = drop.getItemId();
-                if (id == itemId) return true;
-                return variants.contains(id) && itemName.equals(itemManager.getItemComposition(id).getMembersName());
-            })
-            .mapToDouble(RareDrop::getProbability)
-            .reduce(Double::sum);
+
+        // drops of any variant with the same name, or of the exact (possibly noted) item
+        int base = ItemVariationMapping.map(canonical);
+        int itemBase = ItemVariationMapping.map(itemId);
+        double variants = sumGroup(sourceDrops, base, itemId, itemName, quantity);
+        double exact = itemBase != base ? sumGroup(sourceDrops, itemBase, itemId, null, quantity) : -1;
+        if (variants < 0 && exact < 0) return OptionalDouble.empty();
+        return OptionalDouble.of(Math.max(variants, 0) + Math.max(exact, 0));
+    }
+
+    /**
+     * @param itemName the name that variants must share with the item, or null if only the exact item should match
+     * @return the summed probability of the matching drops in the variation group, or -1 if none match
+     */
+    private double sumGroup(SourceDrops source, int base, int itemId, String itemName, int quantity) {
+        int p = source.groups.get(base, -1);
+        if (p < 0) return -1;
+
+        double sum = -1;
+        for (int end = source.order.length; p < end && source.bases[p] == base; p++) {
+            int drop = source.order[p];
+            double probability = getProbability(source.drops, drop, quantity);
+            if (probability < 0) continue;
+
+            int id = source.drops.getItemId(drop);
+            if (id == itemId || itemName != null && itemName.equals(itemManager.getItemComposition(id).getMembersName())) {
+                sum = Math.max(sum, 0) + probability;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return the probability that the specified drop yields the specified quantity (summed across success counts),
+     * or -1 if the quantity is outside the range of the drop
+     */
+    private static double getProbability(DropTable.Drops drops, int drop, int quantity) {
+        int min = drops.getMinQuantity(drop);
+        int max = drops.getMaxQuantity(drop);
+        int rolls = drops.getRolls(drop);
+        double p = drops.getProbability(drop);
+        if (rolls == 1) {
+            return min <= quantity && quantity <= max ? p : -1;
+        }
+
+        double density = -1;
+        for (int successCount = 1; successCount <= rolls; successCount++) {
+            if (min * successCount <= quantity && quantity <= max * successCount) {
+                density = Math.max(density, 0) + MathUtils.binomialProbability(p, rolls, successCount);
+            }
+        }
+        return density;
     }
 
-    @Value
-    protected static class RareDrop {
-        int itemId;
-        int minQuantity;
-        int maxQuantity;
-        double probability;
+    private DropTable readJson(InputStream is) {
+        Reader reader = new BufferedReader(new InputStreamReader(is));
+        Map<String, List<RawDrop>> raw = gson.fromJson(reader, new TypeToken<Map<String, List<RawDrop>>>() {}.getType());
+        DropTable.Builder builder = DropTable.builder();
+        raw.forEach((sourceName, rawDrops) -> rawDrops.forEach(drop -> drop.addTo(builder, sourceName)));
+        return builder.build();
+    }
+
+    /**
+     * The drops of a source, grouped by item variation so lookups only consider relevant drops.
+     */
+    private static class SourceDrops {
+        private final DropTable.Drops drops;
+
+        /**
+         * Drop indices, ordered by {@link ItemVariationMapping#map(int)} of the item.
+         */
+        private final int[] order;
+
+        /**
+         * The variation base item id of each position in {@link #order}.
+         */
+        private final int[] bases;
+
+        /**
+         * Maps a variation base item id to its first position in {@link #order}.
+         */
+        private final IntIntMap groups;
+
+        SourceDrops(DropTable.Drops drops) {
+            int n = drops.size();
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = (long) ItemVariationMapping.map(drops.getItemId(i)) << 32 | i;
+            }
+            Arrays.sort(keys);
+
+            this.drops = drops;
+            this.order = new int[n];
+            this.bases = new int[n];
+            this.groups = new IntIntMap(n);
+            for (int p = 0; p < n; p++) {
+                int base = (int) (keys[p] >> 32);
+                order[p] = (int) keys[p];
+                bases[p] = base;
+                if (p == 0 || bases[p - 1] != base) {
+                    groups.put(base, p);
+                }
+            }
+        }
     }
 
     @Data
@@ -87,21 +185,11 @@ public abstract class AbstractRarityService {
         private @SerializedName("m") Integer quantMin;
         private @SerializedName("n") Integer quantMax;
 
-        Collection<RareDrop> transform() {
+        void addTo(DropTable.Builder builder, String sourceName) {
             int rounds = rolls != null ? rolls : 1;
             int min = quantMin != null ? quantMin : quantity;
             int max = quantMax != null ? quantMax : quantity;
-            double prob = 1 / denominator;
-
-            if (rounds == 1) {
-                return List.of(new RareDrop(itemId, min, max, prob));
-            }
-            List<RareDrop> drops = new ArrayList<>(rounds);
-            for (int successCount = 1; successCount <= rounds; successCount++) {
-                double density = MathUtils.binomialProbability(prob, rounds, successCount);
-                drops.add(new RareDrop(itemId, min * successCount, max * successCount, density));
-            }
-            return drops;
+            builder.drop(sourceName, itemId, rounds, min, max, 1 / denominator);
         }
     }
 }
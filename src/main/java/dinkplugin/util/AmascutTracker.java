@@ -14,7 +14,7 @@ import java.util.Collections;
 
 @Singleton
 @NoArgsConstructor
-public class AmascutTracker {
+public class AmascutTracker implements TickListener {
 
     private static final int[] PARTY_VARBS = {
         VarbitID.TOA_CLIENT_P0, VarbitID.TOA_CLIENT_P1, VarbitID.TOA_CLIENT_P2, VarbitID.TOA_CLIENT_P3,
@@ -61,6 +61,7 @@ public class AmascutTracker {
         }
     }
 
+    @Override
     public void onTick() {
         if (this.checkPartyMembers) {
             this.checkPartyMembers = false;
@@ -81,6 +82,11 @@ public class AmascutTracker {
         }
     }
 
+    @Override
+    public boolean isTickPending() {
+        return this.checkPartyMembers;
+    }
+
     public int getPersonalContribution() {
         return personalContribution > 0
             ? personalContribution
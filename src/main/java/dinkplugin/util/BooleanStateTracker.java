@@ -10,7 +10,7 @@ import net.runelite.client.callback.ClientThread;
 import javax.inject.Inject;
 
 @Slf4j
-public abstract class BooleanStateTracker {
+public abstract class BooleanStateTracker implements TickListener {
 
     @Inject
     protected DinkPluginConfig config;
@@ -43,12 +43,18 @@ public abstract class BooleanStateTracker {
         return valid != null && valid;
     }
 
+    @Override
     public void onTick() {
         if (this.state == null && !settingsManager.justLoggedIn()) {
             populateState();
         }
     }
 
+    @Override
+    public boolean isTickPending() {
+        return this.state == null;
+    }
+
     protected void refresh() {
         this.clear();
         this.init();
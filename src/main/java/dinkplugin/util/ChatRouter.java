@@ -0,0 +1,209 @@
+package dinkplugin.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches chat messages only to the handlers that could possibly act upon them.
+ * <p>
+ * Each handler declares keywords (case-insensitive literals) that any relevant message must contain,
+ * which are compiled into a single Aho-Corasick automaton. As a result, each message is scanned once
+ * regardless of the number of handlers, instead of every handler running its own regular expressions.
+ * <p>
+ * Matching handlers are invoked in the order that they were registered, so stateful interactions
+ * between handlers are preserved. Handlers that cannot express their interest as keywords
+ * (e.g., because they track state across messages) are always invoked.
+ */
+public final class ChatRouter {
+
+    private static final int ROOT = 0;
+
+    private final List<Consumer<String>> handlers;
+    private final long alwaysMask;
+
+    /**
+     * Maps ASCII characters to their column in {@link #transitions}; other characters use column 0.
+     */
+    private final byte[] charClasses;
+    private final int alphabetSize;
+
+    /**
+     * Deterministic transition table, indexed by {@code state * alphabetSize + charClass}.
+     */
+    private final int[] transitions;
+
+    /**
+     * For each state, the bitmask of handlers whose keywords end at that state (including via suffix links).
+     */
+    private final long[] outputs;
+
+    private ChatRouter(List<Consumer<String>> handlers, long alwaysMask, byte[] charClasses, int alphabetSize, int[] transitions, long[] outputs) {
+        this.handlers = handlers;
+        this.alwaysMask = alwaysMask;
+        this.charClasses = charClasses;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    /**
+     * @param message the sanitized chat message
+     */
+    public void accept(@NotNull String message) {
+        long mask = match(message);
+        while (mask != 0) {
+            int i = Long.numberOfTrailingZeros(mask);
+            handlers.get(i).accept(message);
+            mask &= mask - 1;
+        }
+    }
+
+    /**
+     * @param message the sanitized chat message
+     * @return the bitmask of handler indices that should receive the message
+     */
+    long match(@NotNull String message) {
+        long mask = alwaysMask;
+        int state = ROOT;
+        for (int i = 0, n = message.length(); i < n; i++) {
+            state = transitions[state * alphabetSize + charClass(message.charAt(i))];
+            mask |= outputs[state];
+        }
+        return mask;
+    }
+
+    private int charClass(char c) {
+        return c < 128 ? charClasses[Character.toLowerCase(c)] : 0;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final List<Consumer<String>> handlers = new ArrayList<>();
+        private final List<String> keywords = new ArrayList<>();
+        private final List<Integer> keywordHandlers = new ArrayList<>();
+        private long alwaysMask = 0L;
+
+        private Builder() {}
+
+        /**
+         * @param handler  the consumer of relevant messages
+         * @param keywords literals (compared case-insensitively) that at least one must be contained in a relevant message
+         * @return this builder
+         */
+        public Builder route(@NotNull Consumer<String> handler, @NotNull String... keywords) {
+            if (keywords.length == 0)
+                throw new IllegalArgumentException("At least one keyword is required; use always() instead");
+
+            int index = add(handler);
+            for (String keyword : keywords) {
+                if (keyword.isEmpty() || !keyword.chars().allMatch(c -> c < 128))
+                    throw new IllegalArgumentException("Keywords must be non-empty ASCII: " + keyword);
+                this.keywords.add(keyword.toLowerCase());
+                this.keywordHandlers.add(index);
+            }
+            return this;
+        }
+
+        /**
+         * @param handler the consumer that should receive every message
+         * @return this builder
+         */
+        public Builder always(@NotNull Consumer<String> handler) {
+            alwaysMask |= 1L << add(handler);
+            return this;
+        }
+
+        private int add(Consumer<String> handler) {
+            if (handlers.size() >= Long.SIZE)
+                throw new IllegalStateException("Too many chat handlers");
+            handlers.add(handler);
+            return handlers.size() - 1;
+        }
+
+        public ChatRouter build() {
+            // assign compact columns to the characters that appear in keywords
+            byte[] charClasses = new byte[128];
+            int alphabetSize = 1;
+            for (String keyword : keywords) {
+                for (int i = 0; i < keyword.length(); i++) {
+                    char c = keyword.charAt(i);
+                    if (charClasses[c] == 0)
+                        charClasses[c] = (byte) alphabetSize++;
+                }
+            }
+
+            // build trie
+            List<Map<Integer, Integer>> children = new ArrayList<>();
+            List<Long> outputs = new ArrayList<>();
+            children.add(new HashMap<>());
+            outputs.add(0L);
+            for (int k = 0; k < keywords.size(); k++) {
+                String keyword = keywords.get(k);
+                int state = ROOT;
+                for (int i = 0; i < keyword.length(); i++) {
+                    int column = charClasses[keyword.charAt(i)];
+                    Integer next = children.get(state).get(column);
+                    if (next == null) {
+                        next = children.size();
+                        children.add(new HashMap<>());
+                        outputs.add(0L);
+                        children.get(state).put(column, next);
+                    }
+                    state = next;
+                }
+                outputs.set(state, outputs.get(state) | 1L << keywordHandlers.get(k));
+            }
+
+            // convert to a deterministic automaton via breadth-first traversal of suffix links
+            int stateCount = children.size();
+            int[] transitions = new int[stateCount * alphabetSize];
+            long[] out = new long[stateCount];
+            int[] fail = new int[stateCount];
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int column = 0; column < alphabetSize; column++) {
+                Integer child = children.get(ROOT).get(column);
+                if (child != null) {
+                    transitions[column] = child;
+                    fail[child] = ROOT;
+                    queue.add(child);
+                }
+            }
+            out[ROOT] = outputs.get(ROOT);
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                out[state] = outputs.get(state) | out[fail[state]];
+                for (int column = 0; column < alphabetSize; column++) {
+                    Integer child = children.get(state).get(column);
+                    int fallback = transitions[fail[state] * alphabetSize + column];
+                    if (child != null) {
+                        transitions[state * alphabetSize + column] = child;
+                        fail[child] = fallback;
+                        queue.add(child);
+                    } else {
+                        transitions[state * alphabetSize + column] = fallback;
+                    }
+                }
+            }
+
+            return new ChatRouter(
+                Collections.unmodifiableList(new ArrayList<>(handlers)),
+                alwaysMask,
+                charClasses,
+                alphabetSize,
+                transitions,
+                out
+            );
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package dinkplugin.util;
+
+import com.google.gson.Gson;
+import lombok.Synchronized;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight registry of counters, histograms, and gauges for diagnosing the cost of event handling within Dink.
+ * <p>
+ * Recording is lock-free (via {@link LongAdder}), so it can be performed from the client thread or http threads
+ * without contention. Histograms use log-linear buckets (four per power of two), so percentiles are accurate within 25%.
+ * <p>
+ * The snapshot can be requested via the {@code ::DinkStats} command, and can optionally be written to disk periodically.
+ */
+@Slf4j
+@Singleton
+public class DinkMetrics {
+
+    private static final String FILE_NAME = "stats.json";
+
+    private final Gson gson;
+    private final ScheduledExecutorService executor;
+    private final File directory;
+    private final long startTime = System.nanoTime();
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<?>> gauges = new ConcurrentHashMap<>();
+
+    @Nullable
+    private ScheduledFuture<?> dumpTask = null;
+
+    @Inject
+    public DinkMetrics(Gson gson, ScheduledExecutorService executor) {
+        this(gson, executor, new File(RuneLite.RUNELITE_DIR, "dink"));
+    }
+
+    @VisibleForTesting
+    public DinkMetrics(Gson gson, ScheduledExecutorService executor, File directory) {
+        this.gson = gson;
+        this.executor = executor;
+        this.directory = directory;
+    }
+
+    public void increment(@NotNull String counter) {
+        counters.computeIfAbsent(counter, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * @param histogram the name of the histogram (including the unit of the values)
+     * @param value     the non-negative value to record
+     */
+    public void record(@NotNull String histogram, long value) {
+        histograms.computeIfAbsent(histogram, k -> new Histogram()).record(value);
+    }
+
+    /**
+     * @param histogram the name of the histogram, which should end with "Micros"
+     * @param startNanos the {@link System#nanoTime()} when the measured operation began
+     */
+    public void recordSince(@NotNull String histogram, long startNanos) {
+        record(histogram, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * @param name     the name of the gauge
+     * @param supplier provides the current (gson-serializable) value upon each snapshot
+     */
+    public void gauge(@NotNull String name, @NotNull Supplier<?> supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Marks the start of handling a game event.
+     * <p>
+     * Chat, death, and loot notifications record their latency via {@link dinkplugin.message.NotificationBody#getEventNanos()} instead,
+     * since they are often created after the handler returns (e.g., on another thread or a later tick).
+     *
+     * @return the start time, to be passed to {@link #endEvent(String, long)}
+     */
+    public long beginEvent() {
+        return System.nanoTime();
+    }
+
+    /**
+     * @param event the name of the event type
+     * @param start the value returned by {@link #beginEvent()}
+     */
+    public void endEvent(@NotNull String event, long start) {
+        recordSince("events." + event + "Micros", start);
+    }
+
+    /**
+     * @return the current values of all metrics, suitable for serialization
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> counterValues = new TreeMap<>();
+        counters.forEach((name, adder) -> counterValues.put(name, adder.sum()));
+
+        Map<String, Object> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.summarize()));
+
+        Map<String, Object> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, supplier) -> gaugeValues.put(name, supplier.get()));
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("uptimeSeconds", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime));
+        snapshot.put("counters", counterValues);
+        snapshot.put("histograms", histogramValues);
+        snapshot.put("gauges", gaugeValues);
+        return snapshot;
+    }
+
+    public String toJson() {
+        return gson.toJson(snapshot());
+    }
+
+    /**
+     * @param minutes the period between writing the snapshot to disk, or zero to disable
+     */
+    @Synchronized
+    public void setDumpInterval(int minutes) {
+        if (dumpTask != null) {
+            dumpTask.cancel(false);
+            dumpTask = null;
+        }
+        if (minutes > 0) {
+            dumpTask = executor.scheduleAtFixedRate(this::dump, minutes, minutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @VisibleForTesting
+    void dump() {
+        try {
+            Files.createDirectories(directory.toPath());
+            Path temp = new File(directory, FILE_NAME + ".tmp").toPath();
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                gson.toJson(snapshot(), writer);
+            }
+            Files.move(temp, new File(directory, FILE_NAME).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write dink stats", e);
+        }
+    }
+
+    @VisibleForTesting
+    static final class Histogram {
+        /**
+         * Number of buckets per power of two (as a power of two).
+         */
+        private static final int SUB_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+        private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long value) {
+            long v = Math.max(value, 0L);
+            buckets[index(v)].increment();
+            count.increment();
+            sum.add(v);
+            max.accumulate(v);
+        }
+
+        /**
+         * @param quantile the desired quantile, in (0, 1]
+         * @return an upper bound of the value at the specified quantile
+         */
+        long quantile(double quantile) {
+            long total = count.sum();
+            if (total == 0) return 0L;
+
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i].sum();
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        Map<String, Object> summarize() {
+            long n = count.sum();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", n);
+            summary.put("mean", n > 0 ? sum.sum() / n : 0L);
+            summary.put("p50", quantile(0.5));
+            summary.put("p90", quantile(0.9));
+            summary.put("p99", quantile(0.99));
+            summary.put("max", max.get());
+            return summary;
+        }
+
+        static int index(long value) {
+            if (value < SUB_BUCKETS) return (int) value;
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        static long upperBound(int index) {
+            if (index < SUB_BUCKETS) return index;
+            int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+            long width = 1L << (exponent - SUB_BITS);
+            long lower = (SUB_BUCKETS + index % SUB_BUCKETS) * width;
+            return lower + width - 1;
+        }
+    }
+}
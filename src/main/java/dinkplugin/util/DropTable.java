@@ -0,0 +1,319 @@
+package dinkplugin.util;
+
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Drop rates grouped by source (e.g., NPC name), kept in their compact binary encoding
+ * until the drops of a particular source are requested via {@link #decode(int)}.
+ * <p>
+ * Sources are sorted by name, and an offset index locates the encoded segment of each source,
+ * so decoding one source does not require decoding any others.
+ * <p>
+ * The binary encoding (see {@link #write(OutputStream)}) is produced by the resource generator,
+ * so the plugin can load rates without parsing (and retaining) a large JSON document.
+ */
+public final class DropTable {
+
+    static final int MAGIC = 0x44524F50; // "DROP"
+    static final int VERSION = 2;
+
+    private final String[] sources;
+
+    /**
+     * The number of drops of each source.
+     */
+    private final int[] counts;
+
+    /**
+     * Byte offsets of each source's segment within {@link #encoded}, with a trailing end offset.
+     */
+    private final int[] offsets;
+
+    /**
+     * The concatenated drop segments of every source. Each drop is encoded as varints for the
+     * item id delta (from the previous drop of the source), rolls, minimum quantity, and quantity range,
+     * followed by the per-roll probability as a (big endian) float.
+     */
+    private final byte[] encoded;
+
+    private DropTable(String[] sources, int[] counts, int[] offsets, byte[] encoded) {
+        this.sources = sources;
+        this.counts = counts;
+        this.offsets = offsets;
+        this.encoded = encoded;
+    }
+
+    /**
+     * @param sourceName the name of the drop source
+     * @return the index of the source, or a negative value if it is absent
+     */
+    public int indexOf(@NotNull String sourceName) {
+        return Arrays.binarySearch(sources, sourceName);
+    }
+
+    public int sourceCount() {
+        return sources.length;
+    }
+
+    public String getSource(int source) {
+        return sources[source];
+    }
+
+    /**
+     * @param source the index of the source
+     * @return the decoded drops of the source, sorted by item id
+     */
+    public Drops decode(int source) {
+        int n = counts[source];
+        int[] itemIds = new int[n];
+        byte[] rolls = new byte[n];
+        int[] minQuantities = new int[n];
+        int[] maxQuantities = new int[n];
+        float[] probabilities = new float[n];
+
+        Decoder decoder = new Decoder(encoded, offsets[source]);
+        int previousItem = -1; // lowest possible id, for the "Nothing" drop
+        for (int i = 0; i < n; i++) {
+            itemIds[i] = previousItem += decoder.readVarInt();
+            rolls[i] = (byte) decoder.readVarInt();
+            minQuantities[i] = decoder.readVarInt();
+            maxQuantities[i] = minQuantities[i] + decoder.readVarInt();
+            probabilities[i] = decoder.readFloat();
+        }
+        if (decoder.position != offsets[source + 1])
+            throw new IllegalStateException("Corrupt drop table segment for " + sources[source]);
+        return new Drops(itemIds, rolls, minQuantities, maxQuantities, probabilities);
+    }
+
+    /**
+     * Writes the table: a header, then each source name along with its drop count and segment length,
+     * then the concatenated drop segments.
+     *
+     * @param out the destination stream (which is not closed)
+     * @throws IOException if the stream could not be written
+     */
+    public void write(@NotNull OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        writeVarInt(data, sources.length);
+        for (int s = 0; s < sources.length; s++) {
+            data.writeUTF(sources[s]);
+            writeVarInt(data, counts[s]);
+            writeVarInt(data, offsets[s + 1] - offsets[s]);
+        }
+        data.write(encoded);
+        data.flush();
+    }
+
+    /**
+     * Reads the header and offset index, while leaving the drops of each source encoded.
+     *
+     * @param in the stream produced by {@link #write(OutputStream)}
+     * @return the table
+     * @throws IOException if the stream could not be read or is malformed
+     */
+    public static DropTable read(@NotNull InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC)
+            throw new IOException("Not a drop table");
+        int version = data.readUnsignedByte();
+        if (version != VERSION)
+            throw new IOException("Unsupported drop table version: " + version);
+
+        int sourceCount = readVarInt(data);
+        String[] sources = new String[sourceCount];
+        int[] counts = new int[sourceCount];
+        int[] offsets = new int[sourceCount + 1];
+        for (int s = 0; s < sourceCount; s++) {
+            sources[s] = data.readUTF();
+            counts[s] = readVarInt(data);
+            offsets[s + 1] = offsets[s] + readVarInt(data);
+        }
+
+        byte[] encoded = new byte[offsets[sourceCount]];
+        data.readFully(encoded);
+        return new DropTable(sources, counts, offsets, encoded);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        if (value < 0)
+            throw new IllegalArgumentException("Cannot encode negative value: " + value);
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * The drops of a single source, held in parallel primitive arrays that are sorted by item id.
+     * Each drop yields its quantity range with the specified probability on each of its rolls (typically 1).
+     */
+    public static final class Drops {
+        private final int[] itemIds;
+        private final byte[] rolls;
+        private final int[] minQuantities;
+        private final int[] maxQuantities;
+        private final float[] probabilities;
+
+        private Drops(int[] itemIds, byte[] rolls, int[] minQuantities, int[] maxQuantities, float[] probabilities) {
+            this.itemIds = itemIds;
+            this.rolls = rolls;
+            this.minQuantities = minQuantities;
+            this.maxQuantities = maxQuantities;
+            this.probabilities = probabilities;
+        }
+
+        public int size() {
+            return itemIds.length;
+        }
+
+        public int getItemId(int drop) {
+            return itemIds[drop];
+        }
+
+        public int getRolls(int drop) {
+            return rolls[drop];
+        }
+
+        public int getMinQuantity(int drop) {
+            return minQuantities[drop];
+        }
+
+        public int getMaxQuantity(int drop) {
+            return maxQuantities[drop];
+        }
+
+        /**
+         * @return the probability of the drop on a single roll
+         */
+        public double getProbability(int drop) {
+            return probabilities[drop];
+        }
+    }
+
+    private static final class Decoder {
+        private final byte[] buf;
+        private int position;
+
+        private Decoder(byte[] buf, int position) {
+            this.buf = buf;
+            this.position = position;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = buf[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+        }
+
+        float readFloat() {
+            int bits = (buf[position] & 0xFF) << 24
+                | (buf[position + 1] & 0xFF) << 16
+                | (buf[position + 2] & 0xFF) << 8
+                | (buf[position + 3] & 0xFF);
+            position += 4;
+            return Float.intBitsToFloat(bits);
+        }
+    }
+
+    /**
+     * Accumulates drops, which can be added in any order.
+     */
+    public static final class Builder {
+        private final SortedMap<String, List<Row>> drops = new TreeMap<>();
+
+        private Builder() {}
+
+        /**
+         * @param sourceName  the name of the drop source
+         * @param itemId      the dropped item id (or -1 for nothing)
+         * @param rolls       the number of independent rolls for the drop
+         * @param minQuantity the minimum quantity dropped on a single successful roll
+         * @param maxQuantity the maximum quantity dropped on a single successful roll
+         * @param probability the probability of a successful roll
+         * @return this builder
+         */
+        public Builder drop(@NotNull String sourceName, int itemId, int rolls, int minQuantity, int maxQuantity, double probability) {
+            if (itemId < -1 || rolls < 1 || rolls > Byte.MAX_VALUE || minQuantity < 0 || maxQuantity < minQuantity)
+                throw new IllegalArgumentException(String.format("Invalid drop of %d from %s", itemId, sourceName));
+
+            drops.computeIfAbsent(sourceName, k -> new ArrayList<>())
+                .add(new Row(itemId, rolls, minQuantity, maxQuantity, (float) probability));
+            return this;
+        }
+
+        public DropTable build() {
+            String[] sources = drops.keySet().toArray(new String[0]);
+            int[] counts = new int[sources.length];
+            int[] offsets = new int[sources.length + 1];
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(buf);
+            try {
+                for (int s = 0; s < sources.length; s++) {
+                    List<Row> rows = new ArrayList<>(drops.get(sources[s]));
+                    rows.sort(Comparator.comparingInt(Row::getItemId));
+                    int previousItem = -1;
+                    for (Row row : rows) {
+                        writeVarInt(out, row.getItemId() - previousItem);
+                        writeVarInt(out, row.getRolls());
+                        writeVarInt(out, row.getMinQuantity());
+                        writeVarInt(out, row.getMaxQuantity() - row.getMinQuantity());
+                        out.writeFloat(row.getProbability());
+                        previousItem = row.getItemId();
+                    }
+                    counts[s] = rows.size();
+                    offsets[s + 1] = out.size();
+                }
+            } catch (IOException e) {
+                throw new AssertionError("in-memory stream", e);
+            }
+            return new DropTable(sources, counts, offsets, buf.toByteArray());
+        }
+    }
+
+    @Value
+    private static class Row {
+        int itemId;
+        int rolls;
+        int minQuantity;
+        int maxQuantity;
+        float probability;
+    }
+}
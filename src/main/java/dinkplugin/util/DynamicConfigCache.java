@@ -0,0 +1,148 @@
+package dinkplugin.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import lombok.Synchronized;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the last dynamic config that was applied to each profile, along with the HTTP validators
+ * (ETag and Last-Modified) of the response it came from, so subsequent imports can issue a conditional request
+ * and re-apply the remembered settings without downloading them again.
+ * <p>
+ * Entries are keyed by profile and url, so a profile never skips a config that was only applied to another profile.
+ */
+@Slf4j
+@Singleton
+public class DynamicConfigCache {
+
+    private static final String FILE_NAME = "dynamic_config.json";
+    private static final int MAX_ENTRIES = 16;
+
+    private final Gson gson;
+    private final File directory;
+
+    /**
+     * The last applied config for each profile and url (in order of last use), which is lazily read from disk.
+     */
+    private final Map<String, Entry> entries = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true);
+    private boolean loaded = false;
+
+    @Inject
+    public DynamicConfigCache(Gson gson) {
+        this(gson, new File(RuneLite.RUNELITE_DIR, "dink"));
+    }
+
+    @VisibleForTesting
+    public DynamicConfigCache(Gson gson, File directory) {
+        this.gson = gson;
+        this.directory = directory;
+    }
+
+    /**
+     * @param profile the profile that the config was applied to, or null if no profile is active
+     * @param url     the dynamic config url
+     * @return the last config that was applied to the profile from the specified url, or null if unavailable
+     */
+    @Nullable
+    @Synchronized
+    public Entry get(@Nullable String profile, @NotNull String url) {
+        load();
+        return entries.get(key(profile, url));
+    }
+
+    /**
+     * Records the config applied to the profile, replacing any previous entry for the same profile and url.
+     *
+     * @param profile the profile that the config was applied to, or null if no profile is active
+     * @param entry   the applied config
+     */
+    @Synchronized
+    public void put(@Nullable String profile, @NotNull Entry entry) {
+        load();
+        if (entry.equals(entries.put(key(profile, entry.getUrl()), entry))) return;
+
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > MAX_ENTRIES) {
+            keys.next();
+            keys.remove();
+        }
+
+        try {
+            Files.createDirectories(directory.toPath());
+            Path temp = new File(directory, FILE_NAME + ".tmp").toPath();
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                gson.toJson(entries, writer);
+            }
+            Files.move(temp, new File(directory, FILE_NAME).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write dynamic config cache", e);
+        }
+    }
+
+    private void load() {
+        if (loaded) return;
+        this.loaded = true;
+
+        File file = new File(directory, FILE_NAME);
+        if (!file.isFile()) return;
+
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Map<String, Entry> stored = gson.fromJson(reader, new TypeToken<LinkedHashMap<String, Entry>>() {}.getType());
+            if (stored == null) return;
+            stored.forEach((key, e) -> {
+                if (e != null && e.getUrl() != null && e.getValues() != null) {
+                    entries.put(key, e);
+                }
+            });
+        } catch (IOException | JsonParseException e) {
+            log.warn("Failed to read dynamic config cache", e);
+        }
+    }
+
+    private static String key(@Nullable String profile, @NotNull String url) {
+        return (profile != null ? profile : "") + '\n' + url;
+    }
+
+    @Value
+    public static class Entry {
+        String url;
+
+        /**
+         * The {@code ETag} response header, if provided by the server.
+         */
+        @Nullable
+        String etag;
+
+        /**
+         * The {@code Last-Modified} response header, if provided by the server.
+         */
+        @Nullable
+        String lastModified;
+
+        /**
+         * The config values (as parsed from json) that were applied.
+         */
+        Map<String, Object> values;
+    }
+}
@@ -0,0 +1,147 @@
+package dinkplugin.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton that finds which of several (lower case) literal fragments occur within a text,
+ * in a single pass over the text regardless of the number of fragments.
+ * <p>
+ * Matching is case-insensitive for ASCII characters only, consistent with {@link java.util.regex.Pattern#CASE_INSENSITIVE}.
+ */
+final class FragmentIndex {
+
+    /**
+     * Upper bound on trie nodes, such that a transition key (node and character) fits in a non-negative int.
+     */
+    static final int MAX_NODES = 1 << 15;
+
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Trie transitions keyed by {@code node << 16 | character}.
+     */
+    private final IntIntMap transitions;
+
+    /**
+     * Fallback node of each node, for the longest proper suffix that is also a trie prefix.
+     */
+    private final int[] fail;
+
+    /**
+     * Fragment ids that end at each node, including those of its failure chain.
+     */
+    private final int[][] outputs;
+
+    private final int fragmentCount;
+
+    private FragmentIndex(IntIntMap transitions, int[] fail, int[][] outputs, int fragmentCount) {
+        this.transitions = transitions;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.fragmentCount = fragmentCount;
+    }
+
+    /**
+     * @param text the text to scan
+     * @return whether each fragment (by id) occurs within the text
+     */
+    boolean[] scan(@NotNull String text) {
+        boolean[] found = new boolean[fragmentCount];
+        int node = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+
+            int next;
+            while ((next = transitions.get(key(node, c), -1)) < 0 && node != 0) {
+                node = fail[node];
+            }
+            node = Math.max(next, 0);
+
+            for (int fragment : outputs[node]) {
+                found[fragment] = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param fragments the non-empty fragments to index (with ASCII characters in lower case), where the id of each fragment is its index
+     * @return the automaton, or null if the fragments are too long to be indexed
+     */
+    @Nullable
+    static FragmentIndex of(@NotNull List<String> fragments) {
+        IntIntMap transitions = new IntIntMap(64);
+        List<int[]> ends = new ArrayList<>();
+        List<int[]> parents = new ArrayList<>(); // {parent node, character, depth}
+        ends.add(NONE);
+        parents.add(new int[] { 0, 0, 0 });
+
+        // build trie
+        for (int id = 0; id < fragments.size(); id++) {
+            String fragment = fragments.get(id);
+            int node = 0;
+            for (int i = 0; i < fragment.length(); i++) {
+                char c = fragment.charAt(i);
+                int next = transitions.get(key(node, c), -1);
+                if (next < 0) {
+                    next = ends.size();
+                    if (next >= MAX_NODES) return null;
+                    transitions.put(key(node, c), next);
+                    ends.add(NONE);
+                    parents.add(new int[] { node, c, i + 1 });
+                }
+                node = next;
+            }
+            ends.set(node, append(ends.get(node), id));
+        }
+
+        // compute failure links (and merge outputs) in order of depth, so each parent is resolved before its children
+        int nodes = ends.size();
+        int[] fail = new int[nodes];
+        int[][] outputs = ends.toArray(new int[0][]);
+        Integer[] order = new Integer[nodes];
+        for (int i = 0; i < nodes; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingInt(node -> parents.get(node)[2]));
+        for (int node : order) {
+            int[] parent = parents.get(node);
+            if (parent[2] <= 1) continue; // root and its children fall back to root
+
+            char c = (char) parent[1];
+            int f = fail[parent[0]];
+            int next;
+            while ((next = transitions.get(key(f, c), -1)) < 0 && f != 0) {
+                f = fail[f];
+            }
+            fail[node] = Math.max(next, 0);
+            if (outputs[fail[node]].length > 0) {
+                outputs[node] = concat(outputs[node], outputs[fail[node]]);
+            }
+        }
+        return new FragmentIndex(transitions, fail, outputs, fragments.size());
+    }
+
+    private static int key(int node, char c) {
+        return node << 16 | c;
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = value;
+        return copy;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] copy = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, copy, a.length, b.length);
+        return copy;
+    }
+}
@@ -0,0 +1,81 @@
+package dinkplugin.util;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Strategy for serializing a screenshot into a particular image format.
+ */
+public interface ImageCodec {
+
+    ImageCodec PNG = new ImageIOCodec("png", null);
+
+    /**
+     * @return the image format name, which can be used in MIME types and file extensions
+     */
+    @NotNull
+    String getFormat();
+
+    /**
+     * @param image the image to encode
+     * @param out   the destination stream (which is not closed)
+     * @throws IOException if the image could not be written
+     */
+    void write(@NotNull BufferedImage image, @NotNull OutputStream out) throws IOException;
+
+    /**
+     * @param quality the compression quality in [0, 1], where higher values yield larger files
+     * @return a JPEG codec with the specified explicit compression quality
+     */
+    static ImageCodec jpeg(float quality) {
+        return new ImageIOCodec("jpeg", Math.max(0f, Math.min(quality, 1f)));
+    }
+
+    @Value
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    class ImageIOCodec implements ImageCodec {
+        @NotNull String format;
+
+        /**
+         * Explicit compression quality, or null for the writer's default.
+         */
+        @Nullable Float quality;
+
+        @Override
+        public void write(@NotNull BufferedImage image, @NotNull OutputStream out) throws IOException {
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+            if (!writers.hasNext())
+                throw new IllegalArgumentException(String.format("Specified format '%s' was not in supported formats: %s", format, Arrays.toString(ImageIO.getWriterFormatNames())));
+
+            ImageWriter writer = writers.next();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (quality != null && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+
+            // buffer in memory rather than ImageIO's default of a temporary file
+            try (ImageOutputStream stream = new MemoryCacheImageOutputStream(out)) {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dinkplugin.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing (linear probing) hash map from int keys to int values, to avoid boxing on hot lookups.
+ * <p>
+ * {@link Integer#MIN_VALUE} is reserved as the empty key marker.
+ */
+public final class IntIntMap {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public IntIntMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * @param key          the key to look up
+     * @param defaultValue the value to return if the key is absent
+     * @return the value associated with the key, or the default value
+     */
+    public int get(int key, int defaultValue) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) return values[i];
+            if (k == EMPTY) return defaultValue;
+        }
+    }
+
+    /**
+     * @param key   the key, which must not be {@link Integer#MIN_VALUE}
+     * @param value the value to associate with the key, replacing any existing value
+     */
+    public void put(int key, int value) {
+        if (key == EMPTY)
+            throw new IllegalArgumentException("Reserved key");
+
+        int i = index(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length / 2) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * @param action the callback for each key-value mapping, in no particular order
+     */
+    public void forEach(EntryConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int index(int key) {
+        int h = key * 0x9E3779B9; // fibonacci hashing spreads sequential ids
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        // keep load factor at or below one half
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+        return Math.max(capacity, 4);
+    }
+}
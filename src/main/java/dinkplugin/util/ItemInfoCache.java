@@ -0,0 +1,92 @@
+package dinkplugin.util;
+
+import net.runelite.client.game.ItemManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Memoizes the price and name of each item, so repeated notifications for the same items
+ * skip composition lookups and special-cased price calculations.
+ * <p>
+ * Only prices derived from GE prices are retained; while GE prices are unavailable (e.g., not yet loaded),
+ * the store price is returned without being retained, so the GE price is looked up again next time.
+ * RuneLite does not announce when {@link ItemManager} reloads prices, so entries are discarded after {@link #MAX_AGE_NANOS}
+ * (to eventually observe newer prices), upon {@link #invalidate()}, or whenever a different {@link ItemManager} instance is supplied.
+ */
+final class ItemInfoCache {
+
+    static final long MAX_AGE_NANOS = Duration.ofMinutes(30).toNanos();
+
+    private static final int MISSING = -1;
+
+    /**
+     * Maps item ids to their slot in the parallel arrays below.
+     */
+    private final IntIntMap slots = new IntIntMap(256);
+    private int[] prices = new int[256];
+    private String[] names = new String[256];
+
+    private ItemManager itemManager;
+    private long loadedAt;
+
+    synchronized int getPrice(@NotNull ItemManager itemManager, int itemId) {
+        int slot = slot(itemManager, itemId);
+        int price = prices[slot];
+        if (price == ItemUtils.NO_GE_PRICE) {
+            price = ItemUtils.computeGePrice(itemManager, itemId);
+            if (price == ItemUtils.NO_GE_PRICE) {
+                // fallback: store price
+                return itemManager.getItemComposition(itemId).getPrice();
+            }
+            prices[slot] = price;
+        }
+        return price;
+    }
+
+    synchronized String getName(@NotNull ItemManager itemManager, int itemId) {
+        int slot = slot(itemManager, itemId);
+        String name = names[slot];
+        if (name == null) {
+            names[slot] = name = String.valueOf(itemManager.getItemComposition(itemId).getMembersName());
+        }
+        return name;
+    }
+
+    private int slot(ItemManager itemManager, int itemId) {
+        if (isStale(itemManager)) {
+            clear(itemManager);
+        }
+
+        int slot = slots.get(itemId, MISSING);
+        if (slot != MISSING) {
+            return slot;
+        }
+
+        slot = slots.size();
+        if (slot == prices.length) {
+            prices = Arrays.copyOf(prices, slot * 2);
+            names = Arrays.copyOf(names, slot * 2);
+        }
+        prices[slot] = ItemUtils.NO_GE_PRICE; // loaded on demand
+        names[slot] = null; // loaded on demand
+        slots.put(itemId, slot);
+        return slot;
+    }
+
+    synchronized void invalidate() {
+        this.itemManager = null;
+    }
+
+    private boolean isStale(ItemManager itemManager) {
+        return this.itemManager != itemManager || System.nanoTime() - loadedAt > MAX_AGE_NANOS;
+    }
+
+    private void clear(ItemManager itemManager) {
+        slots.clear();
+        Arrays.fill(names, null);
+        this.itemManager = itemManager;
+        this.loadedAt = System.nanoTime();
+    }
+}
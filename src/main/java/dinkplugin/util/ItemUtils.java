@@ -11,7 +11,6 @@ import dinkplugin.notifiers.data.SerializedItemStack;
 import lombok.experimental.UtilityClass;
 import net.runelite.api.Client;
 import net.runelite.api.Item;
-import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.gameval.InventoryID;
 import net.runelite.api.gameval.ItemID;
@@ -20,18 +19,15 @@ import net.runelite.client.game.ItemStack;
 import net.runelite.client.game.ItemVariationMapping;
 import net.runelite.client.util.QuantityFormatter;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.BinaryOperator;
-import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -63,8 +59,9 @@ public class ItemUtils {
         TWISTED_MITHRIL_TROPHY, TWISTED_RUNE_TROPHY, TWISTED_STEEL_TROPHY
     );
 
-    private final BinaryOperator<Item> SUM_ITEM_QUANTITIES = (a, b) -> new Item(a.getId(), a.getQuantity() + b.getQuantity());
-    private final BinaryOperator<ItemStack> SUM_ITEM_STACK_QUANTITIES = (a, b) -> new ItemStack(a.getId(), a.getQuantity() + b.getQuantity());
+    static final int NO_GE_PRICE = Integer.MIN_VALUE;
+
+    private final ItemInfoCache ITEM_CACHE = new ItemInfoCache();
 
     public boolean isItemNeverKeptOnDeath(int itemId) {
         // https://oldschool.runescape.wiki/w/Items_Kept_on_Death#Items_that_are_never_kept
@@ -79,35 +76,46 @@ public class ItemUtils {
     }
 
     public long getPrice(@NotNull ItemManager itemManager, int itemId) {
-        return getPrice(itemManager, itemId, null);
+        return ITEM_CACHE.getPrice(itemManager, itemId);
+    }
+
+    /**
+     * Discards memoized prices, such as when RuneLite switches its source of GE prices.
+     */
+    public void invalidatePrices() {
+        ITEM_CACHE.invalidate();
     }
 
-    private int getPrice(@NotNull ItemManager itemManager, int itemId, @Nullable ItemComposition item) {
+    /**
+     * @return the price implied by GE prices, or {@link #NO_GE_PRICE} if a required GE price is unavailable (e.g., prices have not loaded yet)
+     */
+    int computeGePrice(@NotNull ItemManager itemManager, int itemId) {
         if (itemId == ARAXYTE_FANG) {
             // Workaround for araxyte fang having low store value - https://github.com/pajlads/DinkPlugin/issues/989
-            return getGePrice(itemManager, ETCHED_ARAXYTE_FANG);
+            int price = getGePrice(itemManager, ETCHED_ARAXYTE_FANG);
+            return price > 0 ? price : NO_GE_PRICE;
         }
 
         if (itemId == NOXIOUS_HALBERD_PART_1 || itemId == NOXIOUS_HALBERD_PART_2 || itemId == NOXIOUS_HALBERD_PART_3) {
             // Workaround for halberd parts having low store value - https://github.com/pajlads/DinkPlugin/issues/989
-            return getGePrice(itemManager, NOXIOUS_HALBERD) / 3;
+            int price = getGePrice(itemManager, NOXIOUS_HALBERD);
+            return price > 0 ? price / 3 : NO_GE_PRICE;
         }
 
         if (itemId == MOKHAIOTL_CLOTH) {
             // Implied value of Doom Cloth based on upgrade value - https://github.com/pajlads/DinkPlugin/issues/989
             int upgradePrice = getGePrice(itemManager, CONFLICTION_GAUNTLETS);
-            int inputPrices = getGePrice(itemManager, ZENYTE_BRACELET_ENCHANTED) + getGePrice(itemManager, DEMON_TEAR) * 10000;
-            return upgradePrice - inputPrices;
+            int braceletPrice = getGePrice(itemManager, ZENYTE_BRACELET_ENCHANTED);
+            int tearPrice = getGePrice(itemManager, DEMON_TEAR);
+            if (upgradePrice <= 0 || braceletPrice <= 0 || tearPrice <= 0) {
+                return NO_GE_PRICE;
+            }
+            return upgradePrice - (braceletPrice + tearPrice * 10000);
         }
 
         // GE price sourced from wiki with anti-manipulation massaging by runelite
         int price = itemManager.getItemPrice(itemId);
-        if (price <= 0) {
-            // fallback: store price
-            ItemComposition ic = item != null ? item : itemManager.getItemComposition(itemId);
-            price = ic.getPrice();
-        }
-        return price;
+        return price > 0 ? price : NO_GE_PRICE;
     }
 
     public int getGePrice(@NotNull ItemManager itemManager, int itemId) {
@@ -133,19 +141,57 @@ public class ItemUtils {
             .collect(Collectors.toList());
     }
 
-    public <K, V> Map<K, V> reduce(@NotNull Iterable<V> items, Function<V, K> deriveKey, BinaryOperator<V> aggregate) {
-        final Map<K, V> map = new LinkedHashMap<>();
-        items.forEach(v -> map.merge(deriveKey.apply(v), v, aggregate));
-        return map;
-    }
-
-    public Map<Integer, Item> reduceItems(@NotNull Iterable<Item> items) {
-        return reduce(items, Item::getId, SUM_ITEM_QUANTITIES);
+    @NotNull
+    public Collection<Item> reduceItems(@NotNull Iterable<Item> items) {
+        return reduceStacks(items, Item::getId, Item::getQuantity, Item::new);
     }
 
     @NotNull
     public Collection<ItemStack> reduceItemStack(@NotNull Iterable<ItemStack> items) {
-        return reduce(items, ItemStack::getId, SUM_ITEM_STACK_QUANTITIES).values();
+        return reduceStacks(items, ItemStack::getId, ItemStack::getQuantity, ItemStack::new);
+    }
+
+    /**
+     * Sums the quantities of stacks with the same item id, in order of first appearance.
+     * <p>
+     * Quantities are accumulated in primitive arrays, so new stacks are only created
+     * for items that actually appeared multiple times.
+     */
+    private <T> List<T> reduceStacks(Iterable<T> items, ToIntFunction<T> getId, ToIntFunction<T> getQuantity, StackFactory<T> factory) {
+        IntIntMap slots = new IntIntMap(16);
+        List<T> firsts = new ArrayList<>();
+        int[] quantities = new int[16];
+        boolean[] merged = new boolean[16];
+        for (T item : items) {
+            int id = getId.applyAsInt(item);
+            int slot = slots.get(id, -1);
+            if (slot < 0) {
+                slot = firsts.size();
+                if (slot == quantities.length) {
+                    quantities = Arrays.copyOf(quantities, slot * 2);
+                    merged = Arrays.copyOf(merged, slot * 2);
+                }
+                slots.put(id, slot);
+                firsts.add(item);
+                quantities[slot] = getQuantity.applyAsInt(item);
+            } else {
+                quantities[slot] += getQuantity.applyAsInt(item);
+                merged[slot] = true;
+            }
+        }
+
+        for (int slot = 0, n = firsts.size(); slot < n; slot++) {
+            if (merged[slot]) {
+                T first = firsts.get(slot);
+                firsts.set(slot, factory.create(getId.applyAsInt(first), quantities[slot]));
+            }
+        }
+        return firsts;
+    }
+
+    @FunctionalInterface
+    private interface StackFactory<T> {
+        T create(int id, int quantity);
     }
 
     public SerializedItemStack stackFromItem(ItemManager itemManager, Item item) {
@@ -153,9 +199,7 @@ public class ItemUtils {
     }
 
     public SerializedItemStack stackFromItem(ItemManager itemManager, int id, int quantity) {
-        ItemComposition composition = itemManager.getItemComposition(id);
-        int price = getPrice(itemManager, id, composition);
-        return new SerializedItemStack(id, quantity, price, String.valueOf(composition.getMembersName()));
+        return new SerializedItemStack(id, quantity, ITEM_CACHE.getPrice(itemManager, id), ITEM_CACHE.getName(itemManager, id));
     }
 
     public String formatStack(SerializedItemStack item, boolean includePrice) {
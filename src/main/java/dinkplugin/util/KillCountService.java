@@ -1,7 +1,5 @@
 package dinkplugin.util;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import dinkplugin.DinkPluginConfig;
@@ -38,6 +36,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -58,6 +57,12 @@ public class KillCountService {
     private static final String RIFT_PREFIX = "Amount of rifts you have closed: ";
     private static final String HERBIBOAR_PREFIX = "Your herbiboar harvest count is: ";
 
+    /**
+     * Literals that any message handled by {@link #onGameMessage(String)} must contain (case-insensitive),
+     * covering clue counts, rift counts, and boss kill counts (including herbiboar).
+     */
+    public static final String[] CHAT_KEYWORDS = { "treasure trail", RIFT_PREFIX, "count is" };
+
     public static final Set<Integer> SPECIAL_LOOT_NPC_IDS = Set.of(
         NpcID.WHISPERER, NpcID.WHISPERER_MELEE, NpcID.WHISPERER_QUEST, NpcID.WHISPERER_MELEE_QUEST,
         NpcID.ARAXXOR, NpcID.ARAXXOR_DEAD, NpcID.RT_FIRE_QUEEN_INACTIVE, NpcID.RT_ICE_KING_INACTIVE
@@ -86,10 +91,13 @@ public class KillCountService {
     @Inject
     private RarityService rarityService;
 
-    private final Cache<String, Integer> killCounts = CacheBuilder.newBuilder()
-        .expireAfterAccess(10, TimeUnit.MINUTES)
-        .maximumSize(64L)
-        .build();
+    @Inject
+    private KillCountStore killCounts;
+
+    /**
+     * Cache keys whose stored kill count has already been reconciled with base runelite plugins this session.
+     */
+    private final Set<String> reconciled = ConcurrentHashMap.newKeySet();
 
     @Getter
     @Nullable
@@ -97,7 +105,16 @@ public class KillCountService {
 
     public void reset() {
         this.lastDrop = null;
-        this.killCounts.invalidateAll();
+        this.reconciled.clear();
+        this.killCounts.unload();
+    }
+
+    /**
+     * Loads the locally stored kill counts of the current RuneScape profile.
+     */
+    public void onProfileChanged() {
+        this.reconciled.clear();
+        this.killCounts.load(configManager.getRSProfileKey());
     }
 
     public void onServerNpcLoot(ServerNpcLoot event) {
@@ -155,21 +172,21 @@ public class KillCountService {
         if (clue != null) {
             String tier = Utils.ucFirst(clue.getKey());
             int count = clue.getValue() - 1; // decremented since onLoot will increment
-            killCounts.put("Clue Scroll (" + tier + ")", count);
+            putChatCount("Clue Scroll (" + tier + ")", count);
             return;
         }
 
         // guardians of the rift count (for pet tracking)
         if (message.startsWith(RIFT_PREFIX)) {
             int riftCount = Integer.parseInt(message.substring(RIFT_PREFIX.length(), message.length() - 1).replace(",", ""));
-            killCounts.put("Guardians of the Rift", riftCount);
+            putChatCount("Guardians of the Rift", riftCount);
             return;
         }
 
         // herbiboar count (for pet tracking)
         if (message.startsWith(HERBIBOAR_PREFIX)) {
             int harvestCount = Integer.parseInt(message.substring(HERBIBOAR_PREFIX.length(), message.length() - 1).replace(",", ""));
-            killCounts.put(HERBIBOAR, harvestCount);
+            putChatCount(HERBIBOAR, harvestCount);
             return;
         }
 
@@ -180,7 +197,8 @@ public class KillCountService {
 
             // Update cache. We store kc - 1 since onNpcLootReceived will increment; kc - 1 + 1 == kc
             String cacheKey = getCacheKey(LootRecordType.UNKNOWN, boss);
-            killCounts.asMap().merge(cacheKey, kc - 1, Math::max);
+            killCounts.merge(cacheKey, kc - 1, Math::max);
+            reconciled.add(cacheKey); // chat is authoritative
 
             if (boss.equals("Araxxor") || boss.equals(GAUNTLET_BOSS) || boss.equals(CG_BOSS) || boss.startsWith(TOA) || boss.startsWith(TOB) || boss.startsWith(COX)) {
                 // populate lastDrop to workaround loot tracking quirks
@@ -196,8 +214,10 @@ public class KillCountService {
             // However: we don't know if boss message appeared before/after the loot event.
             // If after, we should store kc. If before, we should store kc - 1.
             // Given this uncertainty, we wait so that the loot event has passed, and then we can store latest kc.
+            // The update is dropped if the profile changes in the meantime, so it cannot land in the wrong store.
+            int generation = killCounts.getGeneration();
             executor.schedule(() -> {
-                killCounts.asMap().merge(cacheKey, kc, Math::max);
+                killCounts.merge(generation, cacheKey, kc, Math::max);
             }, 15, TimeUnit.SECONDS);
         });
     }
@@ -240,26 +260,15 @@ public class KillCountService {
     @Nullable
     public Integer getKillCount(LootRecordType type, String sourceName) {
         if (sourceName == null) return null;
-        Integer stored = getStoredKillCount(type, sourceName);
-        if (stored != null) {
-            return killCounts.asMap().merge(getCacheKey(type, sourceName), stored, Math::max);
-        }
-        return killCounts.getIfPresent(getCacheKey(type, sourceName));
+        String cacheKey = getCacheKey(type, sourceName);
+        reconcile(type, sourceName, cacheKey);
+        return killCounts.get(cacheKey);
     }
 
     private void incrementKills(@NotNull LootRecordType type, @NotNull String sourceName, @NotNull Collection<ItemStack> items) {
         String cacheKey = getCacheKey(type, sourceName);
-        Integer newKc = killCounts.asMap().compute(cacheKey, (key, cachedKc) -> {
-            if (cachedKc != null) {
-                // increment kill count
-                return cachedKc + 1;
-            } else {
-                // pull kc from loot tracker or chat commands plugin
-                Integer kc = getStoredKillCount(type, sourceName);
-                // increment if found
-                return kc != null ? kc + 1 : null;
-            }
-        });
+        reconcile(type, sourceName, cacheKey);
+        Integer newKc = killCounts.computeIfPresent(cacheKey, (key, kc) -> kc + 1);
         this.lastDrop = new Drop(sourceName, type, items);
 
         if (newKc != null && type == LootRecordType.NPC && getSlayerKc(sourceName) != null) {
@@ -267,6 +276,25 @@ public class KillCountService {
         }
     }
 
+    /**
+     * Pulls the kill count from the loot tracker or chat commands plugin upon the first access of a source each session,
+     * since kills could have been recorded while dink was not running. Afterward, our local store is kept up to date
+     * by loot events and chat messages, so the loot tracker json need not be parsed again.
+     */
+    private void reconcile(@NotNull LootRecordType type, @NotNull String sourceName, @NotNull String cacheKey) {
+        if (reconciled.add(cacheKey)) {
+            Integer stored = getStoredKillCount(type, sourceName);
+            if (stored != null) {
+                killCounts.merge(cacheKey, stored, Math::max);
+            }
+        }
+    }
+
+    private void putChatCount(String cacheKey, int count) {
+        killCounts.put(cacheKey, count);
+        reconciled.add(cacheKey);
+    }
+
     /**
      * @param type       {@link LootReceived#getType()}
      * @param sourceName {@link NPC#getName()} or {@link LootReceived#getName()}
@@ -283,46 +311,56 @@ public class KillCountService {
         }
 
         Integer slayerKc = type == LootRecordType.NPC ? getSlayerKc(sourceName) : null;
-        SerializedLoot lootRecord = getLootTrackerRecord(type, sourceName);
-        if (lootRecord != null) {
+        Integer lootKc = getLootTrackerKills(type, sourceName);
+        if (lootKc != null) {
             if (slayerKc != null) {
-                return Math.max(lootRecord.getKills(), slayerKc);
+                return Math.max(lootKc, slayerKc);
             }
-            return lootRecord.getKills();
+            return lootKc;
         }
         return slayerKc;
     }
 
     @Nullable
     public SerializedLoot getLootTrackerRecord(@NotNull LootRecordType type, @NotNull String sourceName) {
-        if (type == LootRecordType.EVENT && "Pyramid Plunder".equals(sourceName)) {
-            // ignore events that are not recorded by the base loot tracker
+        String key = getLootTrackerKey(type, sourceName);
+        if (key == null) {
             return null;
         }
-        if (ConfigUtil.isPluginDisabled(configManager, RL_LOOT_PLUGIN_NAME)) {
-            // assume stored kc is useless if loot tracker plugin is disabled
-            return null;
-        }
-        String json = configManager.getConfiguration(LootTrackerConfig.GROUP,
-            configManager.getRSProfileKey(),
-            "drops_" + type + "_" + sourceName
-        );
+        String json = configManager.getConfiguration(LootTrackerConfig.GROUP, configManager.getRSProfileKey(), key);
         if (json == null) {
             // no kc stored implies first kill
             return new SerializedLoot();
         }
         try {
             SerializedLoot lootRecord = gson.fromJson(json, SerializedLoot.class);
+            return lootRecord.withKills(estimateKills(sourceName, lootRecord.getKills()));
+        } catch (JsonSyntaxException e) {
+            // should not occur unless loot tracker changes stored loot POJO structure
+            log.warn("Failed to read kills from loot tracker config", e);
+            return null;
+        }
+    }
 
-            // loot tracker doesn't count kill if no loot - https://github.com/runelite/runelite/issues/5077
-            OptionalDouble nothingProbability = rarityService.getRarity(sourceName, -1, 0);
-            if (nothingProbability.isPresent() && nothingProbability.getAsDouble() < 1.0) {
-                // estimate the actual kc (including kills with no loot)
-                int kc = (int) Math.round(lootRecord.getKills() / (1 - nothingProbability.getAsDouble()));
-                return lootRecord.withKills(kc);
-            } else {
-                return lootRecord;
-            }
+    /**
+     * Unlike {@link #getLootTrackerRecord}, this only reads the kills field of the stored record.
+     * The result is not cached, since {@link #reconcile} only calls this once per source each session.
+     *
+     * @return the kill count of the source according to the base runelite loot tracker, or null if unavailable
+     */
+    @Nullable
+    private Integer getLootTrackerKills(@NotNull LootRecordType type, @NotNull String sourceName) {
+        String key = getLootTrackerKey(type, sourceName);
+        if (key == null) {
+            return null;
+        }
+        String json = configManager.getConfiguration(LootTrackerConfig.GROUP, configManager.getRSProfileKey(), key);
+        if (json == null) {
+            // no kc stored implies first kill
+            return 0;
+        }
+        try {
+            return estimateKills(sourceName, SerializedLoot.readKills(json));
         } catch (JsonSyntaxException e) {
             // should not occur unless loot tracker changes stored loot POJO structure
             log.warn("Failed to read kills from loot tracker config", e);
@@ -330,6 +368,32 @@ public class KillCountService {
         }
     }
 
+    /**
+     * @return the loot tracker config key for the source, or null if the base loot tracker is not applicable
+     */
+    @Nullable
+    private String getLootTrackerKey(@NotNull LootRecordType type, @NotNull String sourceName) {
+        if (type == LootRecordType.EVENT && "Pyramid Plunder".equals(sourceName)) {
+            // ignore events that are not recorded by the base loot tracker
+            return null;
+        }
+        if (ConfigUtil.isPluginDisabled(configManager, RL_LOOT_PLUGIN_NAME)) {
+            // assume stored kc is useless if loot tracker plugin is disabled
+            return null;
+        }
+        return "drops_" + type + "_" + sourceName;
+    }
+
+    private int estimateKills(@NotNull String sourceName, int recordedKills) {
+        // loot tracker doesn't count kill if no loot - https://github.com/runelite/runelite/issues/5077
+        OptionalDouble nothingProbability = rarityService.getRarity(sourceName, -1, 0);
+        if (nothingProbability.isPresent() && nothingProbability.getAsDouble() < 1.0) {
+            // estimate the actual kc (including kills with no loot)
+            return (int) Math.round(recordedKills / (1 - nothingProbability.getAsDouble()));
+        }
+        return recordedKills;
+    }
+
     private void handleSlayerLog() {
         var title = client.getWidget(InterfaceID.KillLog.INTERFACE_TITLE);
         if (title == null || !"Slayer Kill Log".equals(title.getText())) {
@@ -417,5 +481,4 @@ public class KillCountService {
                 return sourceName;
         }
     }
-
 }
@@ -0,0 +1,225 @@
+package dinkplugin.util;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * Kill counts of the current RuneScape profile, which are loaded from a compact local file upon login
+ * and written back (off the client thread) shortly after any change.
+ * <p>
+ * Each profile change starts a new generation of counts, so the client thread never waits on disk:
+ * the previous generation is flushed and the stored counts of the new one are read on the executor,
+ * while any counts recorded in the meantime are kept in memory (and merged with the stored counts).
+ * <p>
+ * File layout: {@code [int version][int size]} followed by {@code size} entries of {@code [utf key][int count]}
+ */
+@Slf4j
+@Singleton
+public class KillCountStore {
+
+    private static final int VERSION = 1;
+    private static final long FLUSH_DELAY_SECONDS = 30;
+
+    private final ScheduledExecutorService executor;
+    private final File directory;
+    private volatile Generation current;
+    private int generations = 0;
+
+    @Inject
+    public KillCountStore(ScheduledExecutorService executor) {
+        this(executor, new File(RuneLite.RUNELITE_DIR, "dink"));
+    }
+
+    @VisibleForTesting
+    public KillCountStore(ScheduledExecutorService executor, File directory) {
+        this.executor = executor;
+        this.directory = directory;
+        this.current = new Generation(0, null);
+    }
+
+    /**
+     * Switches to the kill counts of the specified profile, after flushing those of the previous profile.
+     *
+     * @param profileKey the RuneScape profile key, or null to only retain counts in memory
+     */
+    public synchronized void load(@Nullable String profileKey) {
+        File target = profileKey != null ? new File(directory, "kc_" + profileKey.replaceAll("[^A-Za-z0-9._-]", "_") + ".dat") : null;
+        Generation previous = this.current;
+        Generation next = new Generation(++generations, target);
+        this.current = next;
+        executor.execute(() -> {
+            previous.flush();
+            next.read();
+        });
+    }
+
+    /**
+     * Flushes and discards the counts of the current profile.
+     */
+    public void unload() {
+        load(null);
+    }
+
+    /**
+     * @return an identifier of the currently loaded counts, which changes upon each {@link #load}
+     */
+    public int getGeneration() {
+        return current.id;
+    }
+
+    @Nullable
+    public Integer get(@NotNull String key) {
+        return current.counts.get(key);
+    }
+
+    public void put(@NotNull String key, int count) {
+        Generation gen = current;
+        gen.counts.put(key, count);
+        gen.markDirty();
+    }
+
+    @Nullable
+    public Integer merge(@NotNull String key, int count, @NotNull BinaryOperator<Integer> remapping) {
+        Generation gen = current;
+        Integer result = gen.counts.merge(key, count, remapping);
+        gen.markDirty();
+        return result;
+    }
+
+    /**
+     * Merges a count that was observed earlier, unless the profile has changed since then.
+     *
+     * @param generation the value of {@link #getGeneration()} when the count was observed
+     * @return the merged count, or null if the update was dropped
+     */
+    @Nullable
+    public Integer merge(int generation, @NotNull String key, int count, @NotNull BinaryOperator<Integer> remapping) {
+        Generation gen = current;
+        if (gen.id != generation) {
+            log.debug("Dropping kill count update from a previous profile");
+            return null;
+        }
+        Integer result = gen.counts.merge(key, count, remapping);
+        gen.markDirty();
+        return result;
+    }
+
+    @Nullable
+    public Integer computeIfPresent(@NotNull String key, @NotNull BiFunction<String, Integer, Integer> remapping) {
+        Generation gen = current;
+        Integer result = gen.counts.computeIfPresent(key, remapping);
+        if (result != null) gen.markDirty();
+        return result;
+    }
+
+    /**
+     * Writes the counts of the current profile to disk, if any changed since the last write.
+     */
+    @VisibleForTesting
+    void flush() {
+        current.flush();
+    }
+
+    /**
+     * The counts of a single profile (or of no profile, in which case they are only kept in memory).
+     */
+    private final class Generation {
+        private final int id;
+        @Nullable
+        private final File file;
+        private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private volatile boolean dirty = false;
+        private volatile boolean loaded;
+
+        private Generation(int id, @Nullable File file) {
+            this.id = id;
+            this.file = file;
+            this.loaded = file == null;
+        }
+
+        synchronized void read() {
+            if (loaded) return;
+            readStored();
+            if (dirty) markDirty();
+        }
+
+        /**
+         * Merges the stored counts into those recorded since the profile was selected.
+         */
+        private void readStored() {
+            if (file != null && file.isFile()) {
+                Map<String, Integer> stored = new HashMap<>();
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+                    int version = in.readInt();
+                    if (version != VERSION)
+                        throw new IOException("Unsupported version: " + version);
+                    int size = in.readInt();
+                    for (int i = 0; i < size; i++) {
+                        stored.put(in.readUTF(), in.readInt());
+                    }
+                    // kill counts only increase, so any count recorded in the meantime is at least as recent
+                    stored.forEach((key, count) -> counts.merge(key, count, Math::max));
+                } catch (IOException e) {
+                    log.warn("Failed to read stored kill counts", e);
+                }
+                log.debug("Loaded {} stored kill counts", stored.size());
+            }
+            this.loaded = true;
+        }
+
+        synchronized void flush() {
+            flushScheduled.set(false);
+            if (!dirty || file == null) return;
+            if (!loaded) readStored(); // never overwrite stored counts that have not been merged yet
+            dirty = false;
+
+            Map<String, Integer> snapshot = new HashMap<>(counts);
+            try {
+                Files.createDirectories(directory.toPath());
+                Path temp = new File(directory, file.getName() + ".tmp").toPath();
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(VERSION);
+                    out.writeInt(snapshot.size());
+                    for (Map.Entry<String, Integer> entry : snapshot.entrySet()) {
+                        out.writeUTF(entry.getKey());
+                        out.writeInt(entry.getValue());
+                    }
+                }
+                Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Failed to write stored kill counts", e);
+            }
+        }
+
+        void markDirty() {
+            this.dirty = true;
+            if (file != null && loaded && flushScheduled.compareAndSet(false, true)) {
+                executor.schedule(this::flush, FLUSH_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dinkplugin.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Unmodifiable {@link Map} whose entries are only computed upon first access (and then retained).
+ * <p>
+ * Useful for event payloads that are expensive to build, but may not be read by any subscriber.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class LazyMap<K, V> extends AbstractMap<K, V> {
+
+    @Nullable
+    private Supplier<? extends Map<K, V>> supplier;
+
+    @Nullable
+    private volatile Map<K, V> resolved = null;
+
+    private LazyMap(@NotNull Supplier<? extends Map<K, V>> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * @return whether the entries have been computed
+     */
+    public boolean isResolved() {
+        return resolved != null;
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return resolve().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return resolve().size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return resolve().containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return resolve().get(key);
+    }
+
+    private Map<K, V> resolve() {
+        Map<K, V> map = this.resolved;
+        if (map != null) return map;
+
+        synchronized (this) {
+            if (this.resolved == null) {
+                this.resolved = Collections.unmodifiableMap(supplier.get());
+                this.supplier = null; // release captured state
+            }
+            return this.resolved;
+        }
+    }
+
+    public static <K, V> LazyMap<K, V> of(@NotNull Supplier<? extends Map<K, V>> supplier) {
+        return new LazyMap<>(supplier);
+    }
+}
@@ -47,7 +47,7 @@ public class MathUtils {
 
     static {
         // precompute factorials from 0 to 9 for n-choose-k formula
-        int n = 10; // max rolls in npc_drops.json is 9 (for Bloodthirsty Leagues IV tier 5 relic)
+        int n = 10; // max rolls in npc_drops.bin is 9 (for Bloodthirsty Leagues IV tier 5 relic)
         int[] facts = new int[n];
         facts[0] = 1; // 0! = 1
         for (int i = 1; i < n; i++) {
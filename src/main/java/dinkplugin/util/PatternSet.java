@@ -0,0 +1,184 @@
+package dinkplugin.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * An immutable set of simple patterns (where asterisks are wildcards, as in {@link Utils#regexify(String)})
+ * that is compiled once per config change, so each input is tested in a single pass rather than once per pattern.
+ * <p>
+ * Patterns without wildcards are looked up by their (case-insensitive) text.
+ * For the remaining patterns, a single scan of the input locates the longest literal fragment of each pattern,
+ * and only the patterns whose fragment occurs are confirmed against their regular expression.
+ */
+public final class PatternSet {
+
+    public static final PatternSet EMPTY = new PatternSet(new String[0], Collections.emptyMap(), new int[0], new Pattern[0], null, new boolean[0]);
+
+    /**
+     * The distinct patterns, in the order they were specified.
+     */
+    private final String[] patterns;
+
+    /**
+     * The index (in {@link #patterns}) of each pattern without wildcards, keyed by its lower case form.
+     */
+    private final Map<String, Integer> literals;
+
+    /**
+     * The index (in {@link #patterns}) of each pattern with wildcards, in ascending order.
+     */
+    private final int[] wildcards;
+
+    /**
+     * The regular expression of each pattern in {@link #wildcards}.
+     */
+    private final Pattern[] regexps;
+
+    /**
+     * Index of the longest literal fragment of each pattern in {@link #wildcards} (by the same index),
+     * or null if every pattern must be confirmed against its regular expression.
+     */
+    @Nullable
+    private final FragmentIndex fragments;
+
+    /**
+     * Whether the pattern (in {@link #wildcards}) lacks a literal fragment, so it must always be confirmed.
+     */
+    private final boolean[] unindexed;
+
+    private PatternSet(String[] patterns, Map<String, Integer> literals, int[] wildcards, Pattern[] regexps, @Nullable FragmentIndex fragments, boolean[] unindexed) {
+        this.patterns = patterns;
+        this.literals = literals;
+        this.wildcards = wildcards;
+        this.regexps = regexps;
+        this.fragments = fragments;
+        this.unindexed = unindexed;
+    }
+
+    public boolean isEmpty() {
+        return patterns.length == 0;
+    }
+
+    /**
+     * @param input the text to be tested
+     * @return whether any pattern matches the text (case-insensitive)
+     */
+    public boolean matches(@NotNull String input) {
+        return findMatch(input) != null;
+    }
+
+    /**
+     * @param input the text to be tested
+     * @return the first pattern (in the order they were specified) that matches the text (case-insensitive), or null if no pattern matches
+     */
+    @Nullable
+    public String findMatch(@NotNull String input) {
+        int match = Integer.MAX_VALUE;
+        if (!literals.isEmpty()) {
+            Integer literal = literals.get(lowerCase(input));
+            if (literal != null) {
+                match = literal;
+            }
+        }
+
+        // wildcard patterns specified after the matching literal need not be tested
+        if (wildcards.length > 0 && wildcards[0] < match) {
+            boolean[] candidates = fragments != null ? fragments.scan(input) : null;
+            for (int i = 0; i < wildcards.length && wildcards[i] < match; i++) {
+                if ((candidates == null || candidates[i] || unindexed[i]) && regexps[i].matcher(input).find()) {
+                    match = wildcards[i];
+                    break;
+                }
+            }
+        }
+        return match < patterns.length ? patterns[match] : null;
+    }
+
+    /**
+     * @param patterns the simple patterns (blank patterns should already be excluded)
+     * @return the compiled set
+     */
+    public static PatternSet compile(@NotNull Stream<String> patterns) {
+        List<String> ordered = new ArrayList<>();
+        Map<String, Integer> literals = new HashMap<>();
+        Map<String, Pattern> wildcards = new LinkedHashMap<>();
+        List<Integer> wildcardIndices = new ArrayList<>();
+        patterns.forEach(pattern -> {
+            if (pattern.indexOf('*') < 0) {
+                if (literals.putIfAbsent(lowerCase(pattern), ordered.size()) == null) {
+                    ordered.add(pattern);
+                }
+            } else if (!wildcards.containsKey(pattern)) {
+                Pattern regex = Utils.regexify(pattern);
+                if (regex != null) {
+                    wildcards.put(pattern, regex);
+                    wildcardIndices.add(ordered.size());
+                    ordered.add(pattern);
+                }
+            }
+        });
+
+        if (ordered.isEmpty()) {
+            return EMPTY;
+        }
+
+        int n = wildcards.size();
+        List<String> longestFragments = new ArrayList<>(n);
+        boolean[] unindexed = new boolean[n];
+        int i = 0;
+        for (String pattern : wildcards.keySet()) {
+            String longest = "";
+            for (String fragment : StringUtils.split(pattern, '*')) {
+                if (fragment.length() > longest.length()) {
+                    longest = fragment;
+                }
+            }
+            unindexed[i++] = longest.isEmpty();
+            longestFragments.add(lowerCase(longest));
+        }
+        FragmentIndex fragments = n > 0 ? FragmentIndex.of(longestFragments) : null;
+
+        int[] indices = wildcardIndices.stream().mapToInt(Integer::intValue).toArray();
+        return new PatternSet(ordered.toArray(new String[0]), literals, indices, wildcards.values().toArray(new Pattern[0]), fragments, unindexed);
+    }
+
+    /**
+     * @param configValue the delimited patterns (see {@link ConfigUtil#readDelimited(String)})
+     * @return the compiled set
+     */
+    public static PatternSet fromConfig(@Nullable String configValue) {
+        return compile(ConfigUtil.readDelimited(configValue));
+    }
+
+    /**
+     * Lower cases only ASCII characters, consistent with {@link Pattern#CASE_INSENSITIVE}.
+     */
+    private static String lowerCase(String s) {
+        final int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                char[] chars = s.toCharArray();
+                for (int j = i; j < n; j++) {
+                    char d = chars[j];
+                    if (d >= 'A' && d <= 'Z') {
+                        chars[j] = (char) (d + ('a' - 'A'));
+                    }
+                }
+                return new String(chars);
+            }
+        }
+        return s;
+    }
+}
@@ -10,6 +10,6 @@ import javax.inject.Singleton;
 public class RarityService extends AbstractRarityService {
     @Inject
     RarityService(Gson gson, ItemManager itemManager) {
-        super("/npc_drops.json", 1024, gson, itemManager);
+        super("/npc_drops.bin", gson, itemManager);
     }
 }
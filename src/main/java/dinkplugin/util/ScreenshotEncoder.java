@@ -0,0 +1,199 @@
+package dinkplugin.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Encodes screenshots into an upload-ready byte array while abiding by a maximum file size.
+ * <p>
+ * Rather than encoding a PNG, decoding it again, and re-encoding a JPEG whenever the PNG is too large,
+ * the expected PNG size is predicted from the pixel count so the lossy format can be chosen up front.
+ * Encoding also writes into a reusable buffer, so only the final (exact size) array is allocated per screenshot.
+ * <p>
+ * When the lossless encoding does not fit, JPEG quality is binary searched to retain as much detail as
+ * the byte budget allows, and the image is only downscaled if even the lowest quality is too large.
+ *
+ * @implNote This class is thread-safe, but concurrent calls are serialized to share the buffer.
+ */
+@Slf4j
+public class ScreenshotEncoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 1 << 20; // 1 MiB
+    private static final int MAX_RETAINED_BUFFER_SIZE = 16 << 20; // 16 MiB
+
+    /**
+     * Smoothing factor for the observed PNG bytes per pixel.
+     */
+    private static final double ALPHA = 0.5;
+
+    /**
+     * Initial estimate of PNG bytes per pixel for game screenshots.
+     */
+    private static final double PRIOR_BYTES_PER_PIXEL = 1.5;
+
+    /**
+     * Rate at which the estimate relaxes toward {@link #PRIOR_BYTES_PER_PIXEL} whenever PNG is skipped,
+     * so that a single busy frame does not rule out lossless encoding for the rest of the session.
+     */
+    private static final double DECAY = 0.25;
+
+    private static final float MIN_QUALITY = 0.4f;
+    private static final float MAX_QUALITY = 0.9f;
+
+    /**
+     * Number of bisections between {@link #MIN_QUALITY} and {@link #MAX_QUALITY}, bounding the number of encodes.
+     */
+    private static final int QUALITY_STEPS = 3;
+
+    /**
+     * Number of times to downscale when the lowest quality still exceeds the budget.
+     */
+    private static final int MAX_RESCALES = 3;
+
+    private final ReusableOutputStream buffer = new ReusableOutputStream();
+
+    /**
+     * Running estimate of PNG bytes per pixel for game screenshots, refined after each lossless encode.
+     */
+    private double pngBytesPerPixel = PRIOR_BYTES_PER_PIXEL;
+
+    /**
+     * @param input        the captured frame
+     * @param scalePercent the desired scale factor in (0, 1]
+     * @param maxBytes     the maximum permitted size of the encoded image
+     * @return the image format name (either "png" or "jpeg") and the encoded bytes
+     * @throws IOException if the image could not be encoded
+     */
+    public synchronized Map.Entry<String, byte[]> encode(@NotNull BufferedImage input, double scalePercent, int maxBytes) throws IOException {
+        BufferedImage image = Utils.rescale(input, scalePercent);
+        long pixels = (long) image.getWidth() * image.getHeight();
+        if (pixels <= 0) {
+            throw new IllegalArgumentException("Cannot encode an empty image");
+        }
+
+        double predicted = pixels * pngBytesPerPixel;
+        if (predicted <= maxBytes) {
+            byte[] png = write(image, ImageCodec.PNG, (int) predicted);
+            pngBytesPerPixel = ALPHA * png.length / pixels + (1 - ALPHA) * pngBytesPerPixel;
+            if (png.length <= maxBytes) {
+                return Pair.of(ImageCodec.PNG.getFormat(), png); // lossless
+            }
+        } else {
+            // without an observation, gradually forget the frames that pushed the estimate up
+            pngBytesPerPixel = DECAY * PRIOR_BYTES_PER_PIXEL + (1 - DECAY) * pngBytesPerPixel;
+        }
+
+        BufferedImage rgb = toRgb(image);
+        for (int i = 0; ; i++) {
+            byte[] jpeg = encodeLossy(rgb, maxBytes);
+            if (jpeg.length <= maxBytes || i >= MAX_RESCALES) {
+                log.debug("Encoded {}x{} screenshot as jpeg to comply with size limit", rgb.getWidth(), rgb.getHeight());
+                return Pair.of("jpeg", jpeg);
+            }
+
+            // calculate scale factor to comply with maxBytes (with some headroom as compression ratios vary)
+            double factor = 0.9 * Math.sqrt(1.0 * maxBytes / jpeg.length);
+            rgb = Utils.rescale(rgb, factor);
+        }
+    }
+
+    /**
+     * Binary searches for the highest JPEG quality that fits within the budget.
+     *
+     * @return the largest compliant encoding, or the encoding at {@link #MIN_QUALITY} if none comply
+     */
+    private byte[] encodeLossy(BufferedImage image, int maxBytes) throws IOException {
+        byte[] best = write(image, ImageCodec.jpeg(MAX_QUALITY), maxBytes);
+        if (best.length <= maxBytes) {
+            return best;
+        }
+
+        byte[] smallest = write(image, ImageCodec.jpeg(MIN_QUALITY), maxBytes);
+        if (smallest.length > maxBytes) {
+            return smallest;
+        }
+
+        best = smallest;
+        float lo = MIN_QUALITY, hi = MAX_QUALITY;
+        for (int i = 0; i < QUALITY_STEPS; i++) {
+            float mid = (lo + hi) / 2;
+            byte[] bytes = write(image, ImageCodec.jpeg(mid), maxBytes);
+            if (bytes.length <= maxBytes) {
+                best = bytes;
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        return best;
+    }
+
+    @VisibleForTesting
+    double getPngBytesPerPixel() {
+        return pngBytesPerPixel;
+    }
+
+    private byte[] write(BufferedImage image, ImageCodec codec, int expectedSize) throws IOException {
+        buffer.reset(expectedSize);
+        try {
+            codec.write(image, buffer);
+            return buffer.toByteArray();
+        } finally {
+            buffer.trim();
+        }
+    }
+
+    /**
+     * The JPEG writer does not support alpha channels, so any transparency is flattened.
+     */
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB)
+            return image;
+
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} whose backing array survives across encodes.
+     */
+    private static class ReusableOutputStream extends ByteArrayOutputStream {
+        ReusableOutputStream() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        /**
+         * Clears the stream and grows the buffer to the expected size in one step (rather than repeated doubling).
+         */
+        void reset(int expectedSize) {
+            reset();
+            if (expectedSize > buf.length) {
+                buf = new byte[Math.min(expectedSize + (expectedSize >> 3), Integer.MAX_VALUE - 8)];
+            }
+        }
+
+        /**
+         * Releases unusually large buffers so that a single huge screenshot is not retained indefinitely.
+         */
+        void trim() {
+            reset();
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package dinkplugin.util;
 
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.With;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringReader;
 
 /**
  * Contains kill count observed by base runelite loot tracker plugin, stored in profile configuration.
@@ -30,4 +37,30 @@ public class SerializedLoot {
         }
         return 0;
     }
+
+    /**
+     * Reads the kill count from a serialized record without materializing its drops,
+     * which can be large for frequently killed sources. Reading stops once the kills field is found.
+     *
+     * @param json the serialized record
+     * @return the kill count, or 0 if the record does not specify one
+     * @throws JsonSyntaxException if the record is malformed
+     */
+    public static int readKills(@NotNull String json) {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"kills".equals(reader.nextName())) {
+                    reader.skipValue();
+                } else if (reader.peek() == JsonToken.NULL) {
+                    return 0;
+                } else {
+                    return reader.nextInt();
+                }
+            }
+            return 0;
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
 }
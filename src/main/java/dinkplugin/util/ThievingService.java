@@ -13,7 +13,7 @@ public class ThievingService extends AbstractRarityService {
 
     @Inject
     ThievingService(Gson gson, ItemManager itemManager) {
-        super("/thieving.json", 32, gson, itemManager);
+        super("/thieving.json", gson, itemManager);
     }
 
     @Override
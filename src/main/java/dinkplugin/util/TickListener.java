@@ -0,0 +1,24 @@
+package dinkplugin.util;
+
+/**
+ * A component that performs work on game ticks, as dispatched by {@link TickScheduler}.
+ */
+public interface TickListener {
+
+    /**
+     * Performs the work for the current game tick; invoked on the client thread.
+     */
+    void onTick();
+
+    /**
+     * Components that only have work while some state is pending (e.g., awaiting a follow-up chat message,
+     * counting down ticks after login) should override this method, so that they cost nothing while idle.
+     *
+     * @return whether {@link #onTick()} would do anything on the current tick
+     * @implSpec must be cheap (i.e., a few field reads) and side effect-free
+     */
+    default boolean isTickPending() {
+        return true;
+    }
+
+}
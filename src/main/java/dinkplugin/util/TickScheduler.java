@@ -0,0 +1,166 @@
+package dinkplugin.util;
+
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Dispatches game ticks to the components that currently have work, in place of calling every component on every tick.
+ * <p>
+ * Components are skipped while {@link TickListener#isTickPending()} is false, so idle notifiers cost a field read.
+ * Urgent components always run (in the order they were registered), whereas deferrable components
+ * (e.g., lazy initialization) run afterwards only while the tick's time budget has not been exhausted.
+ * A deferrable component is postponed for at most {@link #MAX_DEFERRED_TICKS} consecutive ticks.
+ * <p>
+ * The time spent by each component is recorded, to identify which component is responsible for expensive ticks.
+ * Ticks are expected to be dispatched from a single thread (i.e., the client thread), but timings can be read from any thread.
+ */
+public final class TickScheduler {
+
+    public static final long DEFAULT_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    public static final int MAX_DEFERRED_TICKS = 5;
+
+    private final Task[] tasks;
+    private final long budgetNanos;
+    private final LongSupplier clock;
+
+    private TickScheduler(Task[] tasks, long budgetNanos, LongSupplier clock) {
+        this.tasks = tasks;
+        this.budgetNanos = budgetNanos;
+        this.clock = clock;
+    }
+
+    public void onTick() {
+        long start = clock.getAsLong();
+        for (Task task : tasks) {
+            if (!task.listener.isTickPending()) {
+                continue;
+            }
+
+            long before = clock.getAsLong();
+            if (task.deferrable && before - start >= budgetNanos && task.deferredTicks < MAX_DEFERRED_TICKS) {
+                task.deferredTicks++;
+                task.deferrals++;
+                continue;
+            }
+
+            task.deferredTicks = 0;
+            try {
+                task.listener.onTick();
+            } finally {
+                long elapsed = clock.getAsLong() - before;
+                task.runs++;
+                task.totalNanos += elapsed;
+                task.maxNanos = Math.max(task.maxNanos, elapsed);
+            }
+        }
+    }
+
+    /**
+     * @return the accumulated tick time of each component, in the order of dispatch
+     */
+    public List<Timing> getTimings() {
+        List<Timing> timings = new ArrayList<>(tasks.length);
+        for (Task task : tasks) {
+            timings.add(new Timing(task.name, task.runs, task.totalNanos, task.maxNanos, task.deferrals));
+        }
+        return timings;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Value
+    public static class Timing {
+        String name;
+
+        /**
+         * The number of ticks where the component was invoked.
+         */
+        long runs;
+
+        long totalNanos;
+        long maxNanos;
+
+        /**
+         * The number of ticks where the component was postponed due to the time budget.
+         */
+        long deferrals;
+    }
+
+    private static final class Task {
+        private final String name;
+        private final TickListener listener;
+        private final boolean deferrable;
+        private int deferredTicks;
+
+        // written only by the dispatching thread, but may be read by others
+        private volatile long runs;
+        private volatile long totalNanos;
+        private volatile long maxNanos;
+        private volatile long deferrals;
+
+        private Task(String name, TickListener listener, boolean deferrable) {
+            this.name = name;
+            this.listener = listener;
+            this.deferrable = deferrable;
+        }
+    }
+
+    public static final class Builder {
+        private final List<Task> urgent = new ArrayList<>();
+        private final List<Task> deferrable = new ArrayList<>();
+        private long budgetNanos = DEFAULT_BUDGET_NANOS;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder() {}
+
+        /**
+         * @param name     the component name, for timing statistics
+         * @param listener the component that must be ticked without delay
+         * @return this builder
+         */
+        public Builder urgent(@NotNull String name, @NotNull TickListener listener) {
+            urgent.add(new Task(name, listener, false));
+            return this;
+        }
+
+        /**
+         * @param name     the component name, for timing statistics
+         * @param listener the component whose tick work can be postponed to a later tick
+         * @return this builder
+         */
+        public Builder deferrable(@NotNull String name, @NotNull TickListener listener) {
+            deferrable.add(new Task(name, listener, true));
+            return this;
+        }
+
+        /**
+         * @param budgetNanos the time per tick after which deferrable components are postponed
+         * @return this builder
+         */
+        public Builder budget(long budgetNanos) {
+            this.budgetNanos = budgetNanos;
+            return this;
+        }
+
+        @VisibleForTesting
+        Builder clock(@NotNull LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public TickScheduler build() {
+            List<Task> tasks = new ArrayList<>(urgent.size() + deferrable.size());
+            tasks.addAll(urgent);
+            tasks.addAll(deferrable);
+            return new TickScheduler(tasks.toArray(new Task[0]), budgetNanos, clock);
+        }
+    }
+}
@@ -30,7 +30,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
-import javax.imageio.ImageIO;
 import javax.swing.SwingUtilities;
 import java.awt.Color;
 import java.awt.Image;
@@ -49,7 +48,6 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -312,11 +310,9 @@ public class Utils {
         return output;
     }
 
-    public byte[] convertImageToByteArray(BufferedImage bufferedImage, String format) throws IOException {
+    public byte[] convertImageToByteArray(BufferedImage bufferedImage, ImageCodec codec) throws IOException {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        boolean foundWriter = ImageIO.write(bufferedImage, format, byteArrayOutputStream);
-        if (!foundWriter)
-            throw new IllegalArgumentException(String.format("Specified format '%s' was not in supported formats: %s", format, Arrays.toString(ImageIO.getWriterFormatNames())));
+        codec.write(bufferedImage, byteArrayOutputStream);
         return byteArrayOutputStream.toByteArray();
     }
 
@@ -0,0 +1,32 @@
+package dinkplugin;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConfigSnapshotProviderTest {
+
+    private final DinkPluginConfig config = Mockito.mock(DinkPluginConfig.class);
+    private final ConfigSnapshotProvider provider = new ConfigSnapshotProvider(config);
+
+    @Test
+    void rebuildsAfterInvalidation() {
+        when(config.minLootValue()).thenReturn(500);
+        DinkConfigSnapshot first = provider.get();
+        assertEquals(500, first.getMinLootValue());
+
+        when(config.minLootValue()).thenReturn(1000);
+        assertSame(first, provider.get());
+        verify(config, times(1)).minLootValue();
+
+        provider.invalidate();
+        assertEquals(1000, provider.get().getMinLootValue());
+        verify(config, times(2)).minLootValue();
+    }
+
+}
@@ -2,8 +2,8 @@ package dinkplugin;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
+import dinkplugin.util.DropTable;
 import lombok.Data;
 import lombok.Value;
 import net.runelite.api.gameval.ItemID;
@@ -15,8 +15,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.file.Files;
@@ -69,10 +69,10 @@ class RarityCalculator {
             map.putIfAbsent(name, drops);
         }
 
-        String output = gson.toJson(map).replace(".00,", ",");
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get("./src/main/resources/npc_drops.json"))) {
-            writer.write(output);
-            writer.newLine();
+        DropTable.Builder builder = DropTable.builder();
+        map.forEach((name, drops) -> drops.forEach(drop -> drop.addTo(builder, name)));
+        try (OutputStream out = Files.newOutputStream(Paths.get("./src/main/resources/npc_drops.bin"))) {
+            builder.build().write(out);
         }
     }
 
@@ -179,11 +179,17 @@ class RarityCalculator {
 
     @Value
     static class Transformed {
-        @SerializedName("i") int itemId;
-        @SerializedName("r") Integer rolls;
-        @SerializedName("d") BigDecimal denominator;
-        @SerializedName("q") Integer quantity;
-        @SerializedName("m") Integer quantMin;
-        @SerializedName("n") Integer quantMax;
+        int itemId;
+        Integer rolls;
+        BigDecimal denominator;
+        Integer quantity;
+        Integer quantMin;
+        Integer quantMax;
+
+        void addTo(DropTable.Builder builder, String sourceName) {
+            int min = quantMin != null ? quantMin : quantity;
+            int max = quantMax != null ? quantMax : quantity;
+            builder.drop(sourceName, itemId, rolls != null ? rolls : 1, min, max, 1 / denominator.doubleValue());
+        }
     }
 }
@@ -16,6 +16,8 @@ import java.util.stream.Stream;
 
 import net.runelite.client.game.ItemStack;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class UtilsTest {
@@ -36,6 +38,16 @@ class UtilsTest {
         assertTrue(output.containsAll(reduced));
     }
 
+    @Test
+    void itemStackReductionPreservesOrder() {
+        ItemStack single = new ItemStack(70, 2);
+        Collection<ItemStack> output = ItemUtils.reduceItemStack(
+            Arrays.asList(new ItemStack(71, 1), single, new ItemStack(69, 3), new ItemStack(71, 4))
+        );
+        assertEquals(Arrays.asList(new ItemStack(71, 5), single, new ItemStack(69, 3)), output);
+        assertSame(single, output.stream().skip(1).findFirst().orElse(null));
+    }
+
     private static class ItemStackReductionProvider implements ArgumentsProvider {
         @Override
         public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
@@ -0,0 +1,113 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import dinkplugin.message.templating.Template;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MessageBatcherTest {
+
+    private static final HttpUrl URL = HttpUrl.get("https://discord.com/api/webhooks/123/secret");
+
+    private final Gson gson = new Gson();
+    private final ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+    private final List<NotificationBody<?>> sent = new ArrayList<>();
+    private final List<Boolean> images = new ArrayList<>();
+    private final MessageBatcher batcher = new MessageBatcher(gson, executor, (url, body, payloads, image) -> {
+        sent.add(body);
+        images.add(image);
+    });
+
+    @Test
+    void mergesWithinWindow() {
+        batcher.offer(URL, body("Loot"), payloads(true), true, 1200);
+        batcher.offer(URL, body("Kill count"), payloads(false), false, 1200);
+        assertTrue(sent.isEmpty());
+
+        flushScheduled();
+        assertEquals(1, sent.size());
+        assertEquals(2, sent.get(0).getEmbeds().size());
+        assertTrue(images.get(0));
+    }
+
+    @Test
+    void splitsSecondImage() {
+        batcher.offer(URL, body("Loot"), payloads(true), true, 1200);
+        batcher.offer(URL, body("Pet"), payloads(true), true, 1200);
+
+        // the first batch is sent as soon as it can no longer accept notifications
+        assertEquals(1, sent.size());
+        assertEquals("Loot", sent.get(0).getEmbeds().get(0).getTitle());
+    }
+
+    @Test
+    void splitsLongEmbeds() {
+        String description = String.join("", Collections.nCopies(Embed.MAX_TOTAL_LENGTH / 2, "a"));
+        batcher.offer(URL, body(description), payloads(false), false, 1200);
+        batcher.offer(URL, body(description), payloads(false), false, 1200);
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    void separatesForumThreads() {
+        NotificationBody<?> loot = body("Loot").withThreadName("[Loot] Forsen has looted");
+        NotificationBody<?> death = body("Death").withType(NotificationType.DEATH).withThreadName("[Death] Forsen has died");
+        batcher.offer(URL, loot, payloads(false), false, 1200);
+        batcher.offer(URL, death, payloads(false), false, 1200);
+        assertTrue(sent.isEmpty());
+
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, times(2)).schedule(tasks.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        tasks.getAllValues().forEach(Runnable::run);
+
+        // each notification is posted to the thread of its own type
+        assertEquals(2, sent.size());
+        assertEquals(loot, sent.get(0));
+        assertEquals(death, sent.get(1));
+    }
+
+    @Test
+    void requiresEmbeds() {
+        NotificationBody<?> plain = body("Level").withEmbeds(Collections.emptyList()).withComputedDiscordContent("Level up");
+        assertFalse(MessageBatcher.isBatchable(plain));
+        assertTrue(MessageBatcher.isBatchable(body("Level")));
+    }
+
+    private void flushScheduled() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(task.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        task.getValue().run();
+    }
+
+    private PayloadCache payloads(boolean image) {
+        RequestBody img = image ? RequestBody.create(MediaType.get("image/png"), new byte[] { 1 }) : null;
+        return new PayloadCache(gson, img, image ? "image.png" : null, () -> "thread");
+    }
+
+    private static NotificationBody<?> body(String title) {
+        return NotificationBody.builder()
+            .type(NotificationType.LOOT)
+            .text(Template.builder().template(title).build())
+            .embeds(Collections.singletonList(Embed.builder().title(title).description(title).build()))
+            .build();
+    }
+
+}
@@ -0,0 +1,61 @@
+package dinkplugin.message;
+
+import com.google.gson.Gson;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PersistedPayloadTest {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final MediaType PNG = MediaType.get("image/png");
+    private static final String BOUNDARY = "dink";
+
+    private final Gson gson = new Gson();
+
+    @Test
+    void editsJson() throws IOException {
+        RequestBody edited = PersistedPayload.edit(gson, RequestBody.create(JSON, "{\"content\":\"hi\",\"thread_name\":\"Loot\"}"), json -> json.remove("thread_name"));
+        assertEquals(JSON, edited.contentType());
+        assertEquals("{\"content\":\"hi\"}", read(edited));
+    }
+
+    @Test
+    void editsMultipart() throws IOException {
+        byte[] image = { 1, 2, 3, '\r', '\n', 4 };
+        RequestBody edited = PersistedPayload.edit(gson, multipart("{\"content\":\"hi\"}", image), json -> json.addProperty("thread_name", "Loot"));
+        assertEquals(read(multipart("{\"content\":\"hi\",\"thread_name\":\"Loot\"}", image)), read(edited));
+    }
+
+    @Test
+    void rejectsUnexpectedLayout() {
+        RequestBody body = new MultipartBody.Builder(BOUNDARY)
+            .setType(MultipartBody.FORM)
+            .addFormDataPart("file", "screenshot.png", RequestBody.create(PNG, new byte[] { 1 }))
+            .build();
+        assertThrows(IOException.class, () -> PersistedPayload.edit(gson, body, json -> {}));
+    }
+
+    private static RequestBody multipart(String payload, byte[] image) {
+        return new MultipartBody.Builder(BOUNDARY)
+            .setType(MultipartBody.FORM)
+            .addFormDataPart("payload_json", null, RequestBody.create(null, payload.getBytes(StandardCharsets.UTF_8)))
+            .addFormDataPart("file", "screenshot.png", RequestBody.create(PNG, image))
+            .build();
+    }
+
+    private static String read(RequestBody body) throws IOException {
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return buffer.readString(StandardCharsets.ISO_8859_1);
+    }
+
+}
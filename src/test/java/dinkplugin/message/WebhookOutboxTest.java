@@ -0,0 +1,139 @@
+package dinkplugin.message;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebhookOutboxTest {
+
+    private static final HttpUrl URL = HttpUrl.get("https://discord.com/api/webhooks/123/abc");
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    @TempDir
+    File directory;
+
+    @Test
+    void replaysUnacknowledged() throws Exception {
+        WebhookOutbox outbox = new WebhookOutbox(directory);
+        assertTrue(outbox.open().isEmpty());
+        outbox.append(URL, NotificationType.LOOT, "Loot Drop", RequestBody.create(JSON, "{\"a\":1}"));
+        WebhookOutbox.Entry second = outbox.append(URL, NotificationType.DEATH, null, RequestBody.create(JSON, "{\"b\":2}"));
+        outbox.acknowledge(second);
+        outbox.close();
+
+        WebhookOutbox reopened = new WebhookOutbox(directory);
+        List<WebhookOutbox.Entry> entries = reopened.open();
+        assertEquals(1, entries.size());
+
+        WebhookOutbox.Entry entry = entries.get(0);
+        assertEquals(URL, entry.getUrl());
+        assertEquals(NotificationType.LOOT.name(), entry.getType());
+        assertEquals("Loot Drop", entry.getThreadName());
+        assertEquals("{\"a\":1}", read(entry.body()));
+        assertEquals(JSON, entry.body().contentType());
+        reopened.close();
+    }
+
+    @Test
+    void compactsAcknowledged() throws Exception {
+        WebhookOutbox outbox = new WebhookOutbox(directory);
+        outbox.open();
+        WebhookOutbox.Entry entry = outbox.append(URL, NotificationType.PET, null, RequestBody.create(JSON, "{}"));
+        assertNotNull(entry);
+        outbox.acknowledge(entry);
+        outbox.close();
+
+        assertEquals(0L, new File(directory, "outbox.journal").length());
+        assertTrue(new WebhookOutbox(directory).open().isEmpty());
+    }
+
+    @Test
+    void invalidatesEntriesUponReopen() throws Exception {
+        WebhookOutbox outbox = new WebhookOutbox(directory);
+        outbox.open();
+        outbox.append(URL, NotificationType.LOOT, null, RequestBody.create(JSON, "{\"a\":1}"));
+        WebhookOutbox.Entry inFlight = outbox.append(URL, NotificationType.DEATH, null, RequestBody.create(JSON, "{\"b\":2}"));
+        assertNotNull(inFlight);
+        outbox.close();
+
+        // entries with attempts in flight are not replayed, and can no longer stream from the compacted journal
+        assertTrue(outbox.open().isEmpty());
+        assertFalse(outbox.isCurrent(inFlight));
+        assertThrows(IOException.class, () -> read(inFlight.body()));
+
+        WebhookOutbox.Entry next = outbox.append(URL, NotificationType.PET, null, RequestBody.create(JSON, "{\"c\":3}"));
+        assertNotNull(next);
+        assertTrue(outbox.isCurrent(next));
+        assertEquals("{\"c\":3}", read(next.body()));
+
+        // stale entries can still be acknowledged, even while the journal is closed
+        outbox.acknowledge(next);
+        outbox.close();
+        outbox.acknowledge(inFlight);
+
+        List<WebhookOutbox.Entry> entries = new WebhookOutbox(directory).open();
+        assertEquals(1, entries.size());
+        assertEquals(NotificationType.LOOT.name(), entries.get(0).getType());
+    }
+
+    @Test
+    void discardsPartialAppend() throws Exception {
+        WebhookOutbox outbox = new WebhookOutbox(directory);
+        outbox.open();
+        outbox.append(URL, NotificationType.LOOT, null, RequestBody.create(JSON, "{\"a\":1}"));
+        RequestBody failing = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return JSON;
+            }
+
+            @Override
+            public void writeTo(@NotNull BufferedSink sink) throws IOException {
+                sink.writeUtf8("{\"b\":");
+                sink.flush();
+                throw new IOException("screenshot encoding failed");
+            }
+        };
+        assertThrows(IOException.class, () -> outbox.append(URL, NotificationType.DEATH, null, failing));
+        WebhookOutbox.Entry last = outbox.append(URL, NotificationType.PET, null, RequestBody.create(JSON, "{\"c\":3}"));
+        assertNotNull(last);
+        assertEquals(7L, last.getLength());
+        assertEquals("{\"c\":3}", read(last.body()));
+        outbox.close();
+
+        List<WebhookOutbox.Entry> entries = new WebhookOutbox(directory).open();
+        assertEquals(2, entries.size());
+        assertEquals("{\"a\":1}", read(entries.get(0).body()));
+        assertEquals("{\"c\":3}", read(entries.get(1).body()));
+    }
+
+    @Test
+    void ignoresAppendWhenClosed() throws Exception {
+        WebhookOutbox outbox = new WebhookOutbox(directory);
+        assertNull(outbox.append(URL, NotificationType.LEVEL, null, RequestBody.create(JSON, "{}")));
+    }
+
+    private static String read(RequestBody body) throws Exception {
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return buffer.readString(StandardCharsets.UTF_8);
+    }
+
+}
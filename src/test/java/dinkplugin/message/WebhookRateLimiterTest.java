@@ -0,0 +1,95 @@
+package dinkplugin.message;
+
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class WebhookRateLimiterTest {
+
+    private static final HttpUrl URL = HttpUrl.get("https://discord.com/api/webhooks/123/secret");
+    private static final HttpUrl OTHER_URL = HttpUrl.get("https://discord.com/api/webhooks/456/secret");
+
+    private final ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+    private final WebhookRateLimiter limiter = new WebhookRateLimiter(executor);
+
+    @Test
+    void runsImmediatelyWithoutHeaders() {
+        AtomicInteger sent = new AtomicInteger();
+        limiter.submit(URL, sent::incrementAndGet);
+        limiter.submit(URL, sent::incrementAndGet);
+        assertEquals(2, sent.get());
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    void delaysExhaustedBucket() {
+        assertFalse(limiter.update(URL, response(204, "X-RateLimit-Limit", "5", "X-RateLimit-Remaining", "1", "X-RateLimit-Reset-After", "1.5")));
+
+        AtomicInteger sent = new AtomicInteger();
+        limiter.submit(URL, sent::incrementAndGet);
+        limiter.submit(URL, sent::incrementAndGet);
+        assertEquals(1, sent.get());
+        assertEquals(1, limiter.getQueueDepth());
+        verify(executor).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+
+        // other webhooks are unaffected
+        limiter.submit(OTHER_URL, sent::incrementAndGet);
+        assertEquals(2, sent.get());
+    }
+
+    @Test
+    void honorsRetryAfter() {
+        assertTrue(limiter.update(URL, response(429, "Retry-After", "2")));
+
+        AtomicInteger sent = new AtomicInteger();
+        limiter.submit(URL, sent::incrementAndGet);
+        assertEquals(0, sent.get());
+        assertEquals("discord.com/api/webhooks/123", limiter.getStats().iterator().next().getRoute());
+    }
+
+    @Test
+    void globalLimitBlocksHost() {
+        assertTrue(limiter.update(URL, response(429, "Retry-After", "1", "X-RateLimit-Global", "true")));
+
+        AtomicInteger sent = new AtomicInteger();
+        limiter.submit(OTHER_URL, sent::incrementAndGet);
+        assertEquals(0, sent.get());
+    }
+
+    @Test
+    void parseSeconds() {
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1500), WebhookRateLimiter.parseSeconds("1.5"));
+        assertNull(WebhookRateLimiter.parseSeconds("soon"));
+        assertNull(WebhookRateLimiter.parseSeconds("-1"));
+    }
+
+    private static Response response(int code, String... headers) {
+        Response.Builder builder = new Response.Builder()
+            .request(new Request.Builder().url(URL).build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("");
+        for (int i = 0; i < headers.length; i += 2) {
+            builder.header(headers[i], headers[i + 1]);
+        }
+        return builder.build();
+    }
+
+}
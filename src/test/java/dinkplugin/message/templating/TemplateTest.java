@@ -3,6 +3,7 @@ package dinkplugin.message.templating;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class TemplateTest {
 
@@ -186,4 +187,43 @@ class TemplateTest {
                 .evaluate(true)
         );
     }
+
+    @Test
+    void adjacentReplacementsFast() {
+        assertEquals(
+            "100% of dank dankMonk",
+            Template.builder()
+                .template("100% of %USERNAME%%TARGET%")
+                .replacementBoundary("%")
+                .replacement("%USERNAME%", Replacements.ofText("dank dank"))
+                .replacement("%TARGET%", Replacements.ofText("Monk"))
+                .build()
+                .evaluate(false)
+        );
+    }
+
+    @Test
+    void replacementsAreNotRescanned() {
+        Template template = Template.builder()
+            .template("%USERNAME% has killed %TARGET%")
+            .replacement("%USERNAME%", Replacements.ofText("%TARGET%"))
+            .replacement("%TARGET%", Replacements.ofText("Monk"))
+            .build();
+        assertEquals("%TARGET% has killed Monk", template.evaluate(false));
+    }
+
+    @Test
+    void memoizesEvaluation() {
+        Template template = Template.builder()
+            .template("%USERNAME% has killed %TARGET%")
+            .replacementBoundary("%")
+            .replacement("%USERNAME%", Replacements.ofText("dank dank"))
+            .replacement("%TARGET%", Replacements.ofWiki("Monk"))
+            .build();
+        String plain = template.evaluate(false);
+        String rich = template.evaluate(true);
+        assertSame(plain, template.evaluate(false));
+        assertSame(rich, template.evaluate(true));
+        assertEquals("dank dank has killed [Monk](https://oldschool.runescape.wiki/w/Special:Search?search=Monk)", rich);
+    }
 }
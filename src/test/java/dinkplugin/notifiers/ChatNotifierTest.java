@@ -40,6 +40,9 @@ public class ChatNotifierTest extends MockedNotifierTest {
     protected void setUp() {
         super.setUp();
 
+        // match on the calling thread, so notifications are fired before the event handler returns
+        notifier.matcher = Runnable::run;
+
         // config mocks
         when(config.notifyChat()).thenReturn(true);
         when(config.chatMessageTypes()).thenReturn(EnumSet.of(ChatNotificationType.GAME, ChatNotificationType.COMMAND, ChatNotificationType.RUNELITE, ChatNotificationType.CLAN));
@@ -68,7 +71,7 @@ public class ChatNotifierTest extends MockedNotifierTest {
                         .template("[Game Engine]: " + PLAYER_NAME + " received a chat message:\n\n```\n" + message + "\n```")
                         .build()
                 )
-                .extra(new ChatNotificationData(ChatMessageType.GAMEMESSAGE, null, null, message))
+                .extra(new ChatNotificationData(ChatMessageType.GAMEMESSAGE, null, null, message, "You will be logged out in approximately 10 minutes.*"))
                 .type(NotificationType.CHAT)
                 .playerName(PLAYER_NAME)
                 .build()
@@ -91,7 +94,7 @@ public class ChatNotifierTest extends MockedNotifierTest {
                         .template("[Game Engine]: " + PLAYER_NAME + " received a chat message:\n\n```\n" + message + "\n```")
                         .build()
                 )
-                .extra(new ChatNotificationData(ChatMessageType.GAMEMESSAGE, null, null, message))
+                .extra(new ChatNotificationData(ChatMessageType.GAMEMESSAGE, null, null, message, PLAYER_NAME + " has deposited * coin* into the coffer."))
                 .type(NotificationType.CHAT)
                 .playerName(PLAYER_NAME)
                 .build()
@@ -114,7 +117,7 @@ public class ChatNotifierTest extends MockedNotifierTest {
                         .template("[Client Commands]: " + PLAYER_NAME + " received a chat message:\n\n```\n" + message + "\n```")
                         .build()
                 )
-                .extra(new ChatNotificationData(ChatMessageType.UNKNOWN, "CommandExecuted", null, message))
+                .extra(new ChatNotificationData(ChatMessageType.UNKNOWN, "CommandExecuted", null, message, "::TriggerDink"))
                 .type(NotificationType.CHAT)
                 .playerName(PLAYER_NAME)
                 .build()
@@ -137,7 +140,7 @@ public class ChatNotifierTest extends MockedNotifierTest {
                         .template("[RuneLite Notifications]: " + PLAYER_NAME + " received a chat message:\n\n```\n" + message + "\n```")
                         .build()
                 )
-                .extra(new ChatNotificationData(ChatMessageType.UNKNOWN, "NotificationFired", null, message))
+                .extra(new ChatNotificationData(ChatMessageType.UNKNOWN, "NotificationFired", null, message, "Dragon impling is in the area"))
                 .type(NotificationType.CHAT)
                 .playerName(PLAYER_NAME)
                 .build()
@@ -174,7 +177,7 @@ public class ChatNotifierTest extends MockedNotifierTest {
                         .template("[Clan Notifications]: " + PLAYER_NAME + " received a chat message:\n\n```\n" + message + "\n```")
                         .build()
                 )
-                .extra(new ChatNotificationData(ChatMessageType.CLAN_MESSAGE, "", title, message))
+                .extra(new ChatNotificationData(ChatMessageType.CLAN_MESSAGE, "", title, message, "* has joined."))
                 .type(NotificationType.CHAT)
                 .playerName(PLAYER_NAME)
                 .build()
@@ -202,7 +205,7 @@ public class ChatNotifierTest extends MockedNotifierTest {
                         .template(source + ": " + PLAYER_NAME + " received a chat message:\n\n```\n" + message + "\n```")
                         .build()
                 )
-                .extra(new ChatNotificationData(ChatMessageType.PUBLICCHAT, source, null, message))
+                .extra(new ChatNotificationData(ChatMessageType.PUBLICCHAT, source, null, message, "*"))
                 .type(NotificationType.CHAT)
                 .playerName(PLAYER_NAME)
                 .build()
@@ -82,6 +82,7 @@ class CollectionNotifierTest extends MockedNotifierTest {
         when(config.collectionSendImage()).thenReturn(false);
         when(config.collectionNotifyMessage()).thenReturn("%USERNAME% has added %ITEM% to their collection");
         when(config.collectionDenylist()).thenReturn("Shayzien * (1)\nShayzien * (2)\n");
+        notifier.init();
     }
 
     @Test
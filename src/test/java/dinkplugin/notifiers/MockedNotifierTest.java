@@ -2,6 +2,7 @@ package dinkplugin.notifiers;
 
 import com.google.gson.Gson;
 import com.google.inject.testing.fieldbinder.Bind;
+import dinkplugin.ConfigSnapshotProvider;
 import dinkplugin.DinkPlugin;
 import dinkplugin.DinkPluginConfig;
 import dinkplugin.MockedTestBase;
@@ -11,10 +12,14 @@ import dinkplugin.domain.FilterMode;
 import dinkplugin.domain.PlayerLookupService;
 import dinkplugin.message.DiscordMessageHandler;
 import dinkplugin.message.NotificationBody;
+import dinkplugin.message.WebhookOutbox;
+import dinkplugin.message.WebhookRateLimiter;
 import dinkplugin.message.templating.Template;
 import dinkplugin.util.AccountTypeTracker;
 import dinkplugin.util.BlockingClientThread;
 import dinkplugin.util.BlockingExecutor;
+import dinkplugin.util.DinkMetrics;
+import dinkplugin.util.DynamicConfigCache;
 import dinkplugin.util.IndexedArray;
 import dinkplugin.util.TestImageUtil;
 import dinkplugin.util.Utils;
@@ -116,10 +121,16 @@ abstract class MockedNotifierTest extends MockedTestBase {
     protected WorldTypeTracker worldTracker = Mockito.spy(WorldTypeTracker.class);
 
     @Bind
-    protected SettingsManager settingsManager = Mockito.spy(new SettingsManager(gson, client, clientThread, plugin, config, configManager, httpClient));
+    protected DinkMetrics metrics = new DinkMetrics(gson, executor);
 
     @Bind
-    protected DiscordMessageHandler messageHandler = Mockito.spy(new DiscordMessageHandler(gson, client, drawManager, httpClient, config, executor, clientThread, discordService, imageCapture));
+    protected SettingsManager settingsManager = Mockito.spy(new SettingsManager(gson, client, clientThread, plugin, config, configManager, httpClient, new DynamicConfigCache(gson), metrics));
+
+    @Bind
+    protected ConfigSnapshotProvider configSnapshot = new ConfigSnapshotProvider(config);
+
+    @Bind
+    protected DiscordMessageHandler messageHandler = Mockito.spy(new DiscordMessageHandler(gson, client, drawManager, httpClient, config, configSnapshot, executor, clientThread, discordService, imageCapture, new WebhookOutbox(), new WebhookRateLimiter(executor), metrics));
 
     @Override
     protected void setUp() {
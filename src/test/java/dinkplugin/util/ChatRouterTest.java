@@ -0,0 +1,97 @@
+package dinkplugin.util;
+
+import dinkplugin.notifiers.ClueNotifier;
+import dinkplugin.notifiers.CollectionNotifier;
+import dinkplugin.notifiers.CombatTaskNotifier;
+import dinkplugin.notifiers.DeathNotifier;
+import dinkplugin.notifiers.KillCountNotifier;
+import dinkplugin.notifiers.LeaguesNotifier;
+import dinkplugin.notifiers.LootNotifier;
+import dinkplugin.notifiers.SlayerNotifier;
+import dinkplugin.notifiers.SpeedrunNotifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChatRouterTest {
+
+    @Test
+    void dispatchesInRegistrationOrder() {
+        List<String> calls = new ArrayList<>();
+        ChatRouter router = ChatRouter.builder()
+            .route(msg -> calls.add("he"), "he", "she")
+            .always(msg -> calls.add("always"))
+            .route(msg -> calls.add("hers"), "HERS")
+            .route(msg -> calls.add("time"), "time")
+            .build();
+
+        router.accept("ushers");
+        assertEquals(List.of("he", "always", "hers"), calls);
+
+        calls.clear();
+        router.accept("Nothing interesting happens.");
+        assertEquals(List.of("always"), calls);
+
+        calls.clear();
+        router.accept("Fight TIME: 1:23");
+        assertEquals(List.of("always", "time"), calls);
+    }
+
+    @Test
+    void handlesNonAscii() {
+        ChatRouter router = ChatRouter.builder().route(msg -> {}, "count is").build();
+        assertEquals(1L, router.match("Your Vet'ion kill count is: 5 \u2728"));
+        assertEquals(0L, router.match("count \u00efs"));
+        assertThrows(IllegalArgumentException.class, () -> ChatRouter.builder().route(msg -> {}, "\u00efs"));
+    }
+
+    @Test
+    void requiresKeywords() {
+        assertThrows(IllegalArgumentException.class, () -> ChatRouter.builder().route(msg -> {}));
+        assertThrows(IllegalArgumentException.class, () -> ChatRouter.builder().route(msg -> {}, ""));
+    }
+
+    @Test
+    void routesRealMessages() {
+        ChatRouter router = ChatRouter.builder()
+            .route(msg -> {}, CollectionNotifier.CHAT_KEYWORDS)
+            .route(msg -> {}, LootNotifier.CHAT_KEYWORDS)
+            .route(msg -> {}, KillCountService.CHAT_KEYWORDS)
+            .route(msg -> {}, SlayerNotifier.CHAT_KEYWORDS)
+            .route(msg -> {}, ClueNotifier.CHAT_KEYWORDS)
+            .route(msg -> {}, KillCountNotifier.CHAT_KEYWORDS)
+            .route(msg -> {}, CombatTaskNotifier.CHAT_KEYWORDS)
+            .route(msg -> {}, DeathNotifier.CHAT_KEYWORDS)
+            .route(msg -> {}, SpeedrunNotifier.CHAT_KEYWORDS)
+            .route(msg -> {}, LeaguesNotifier.CHAT_KEYWORDS)
+            .build();
+
+        assertRoutedTo(router, "New item added to your collection log: Seercull", 0);
+        assertRoutedTo(router, "You catch a giant blue krill!", 1);
+        assertRoutedTo(router, "Your Zulrah kill count is: 12.", 2, 5);
+        assertRoutedTo(router, "Your herbiboar harvest count is: 1,337.", 2, 5);
+        assertRoutedTo(router, "Amount of rifts you have closed: 100.", 2);
+        assertRoutedTo(router, "You have completed your task! You killed 100 Kalphites. You gained 9,000 xp.", 3);
+        assertRoutedTo(router, "You've completed 500 tasks and received 15 points, giving you a total of 300; return to a Slayer master.", 3);
+        assertRoutedTo(router, "You have completed 1,000 hard Treasure Trails.", 2, 4);
+        assertRoutedTo(router, "Fight duration: 1:23.40 (new personal best)", 5);
+        assertRoutedTo(router, "Congratulations, you've completed a hard combat task: Whack-a-Mole (2 points).", 3, 6, 9);
+        assertRoutedTo(router, "You have been doomed!", 7);
+        assertRoutedTo(router, "Speedrun duration: 5:10.20 (new personal best)", 5, 8);
+        assertRoutedTo(router, "Congratulations, you've unlocked a new Relic: Production Prodigy.", 9);
+        assertEquals(0L, router.match("Welcome to Old School RuneScape."));
+    }
+
+    private static void assertRoutedTo(ChatRouter router, String message, int... handlers) {
+        long expected = 0L;
+        for (int i : handlers) {
+            expected |= 1L << i;
+        }
+        assertEquals(expected, router.match(message), message);
+    }
+
+}
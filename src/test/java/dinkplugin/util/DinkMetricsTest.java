@@ -0,0 +1,59 @@
+package dinkplugin.util;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DinkMetricsTest {
+
+    @Test
+    void histogramBuckets() {
+        for (long value : new long[] { 0, 1, 3, 4, 5, 7, 8, 12, 1000, 123_456_789, Long.MAX_VALUE }) {
+            int index = DinkMetrics.Histogram.index(value);
+            assertTrue(value <= DinkMetrics.Histogram.upperBound(index), String.valueOf(value));
+            assertTrue(index == 0 || value > DinkMetrics.Histogram.upperBound(index - 1), String.valueOf(value));
+        }
+
+        DinkMetrics.Histogram histogram = new DinkMetrics.Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        Map<String, Object> summary = histogram.summarize();
+        assertEquals(100L, summary.get("count"));
+        assertEquals(50L, summary.get("mean"));
+        assertEquals(100L, summary.get("max"));
+        long p50 = (long) summary.get("p50");
+        assertTrue(p50 >= 50 && p50 <= 63, String.valueOf(p50));
+        assertEquals(100L, summary.get("p99"));
+    }
+
+    @Test
+    void snapshot(@TempDir File dir) {
+        DinkMetrics metrics = new DinkMetrics(new Gson(), new BlockingExecutor(), dir);
+        metrics.increment("notifications.LOOT");
+        metrics.increment("notifications.LOOT");
+        metrics.gauge("webhook.queueDepth", () -> 3);
+
+        long start = metrics.beginEvent();
+        metrics.recordSince("notifications.LOOT.latencyMicros", start);
+        metrics.endEvent("lootReceived", start);
+
+        Map<String, Object> snapshot = metrics.snapshot();
+        assertEquals(Map.of("notifications.LOOT", 2L), snapshot.get("counters"));
+        assertEquals(Map.of("webhook.queueDepth", 3), snapshot.get("gauges"));
+        Map<?, ?> histograms = (Map<?, ?>) snapshot.get("histograms");
+        assertEquals(2, histograms.size());
+        assertTrue(histograms.containsKey("events.lootReceivedMicros"));
+        assertTrue(histograms.containsKey("notifications.LOOT.latencyMicros"));
+
+        metrics.dump();
+        assertTrue(new File(dir, "stats.json").isFile());
+    }
+
+}
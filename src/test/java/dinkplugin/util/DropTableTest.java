@@ -0,0 +1,65 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DropTableTest {
+
+    @Test
+    void roundTrip() throws IOException {
+        DropTable table = DropTable.builder()
+            .drop("Zulrah", 12922, 2, 1, 1, 1 / 512.0)
+            .drop("Goblin", 526, 1, 1, 1, 1 / 10.0)
+            .drop("Zulrah", -1, 1, 0, 0, 1 / 2.0)
+            .drop("Zulrah", 1631, 1, 100_000, 150_000, 1 / 1024.0)
+            .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        table.write(out);
+        DropTable read = DropTable.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(2, read.sourceCount());
+        assertEquals(0, read.indexOf("Goblin"));
+        assertTrue(read.indexOf("Vorkath") < 0);
+        assertEquals(1, read.decode(0).size());
+
+        // drops are sorted by item id
+        DropTable.Drops zulrah = read.decode(read.indexOf("Zulrah"));
+        assertEquals(3, zulrah.size());
+        assertEquals(-1, zulrah.getItemId(0));
+        assertEquals(1631, zulrah.getItemId(1));
+        assertEquals(100_000, zulrah.getMinQuantity(1));
+        assertEquals(150_000, zulrah.getMaxQuantity(1));
+        assertEquals(12922, zulrah.getItemId(2));
+        assertEquals(2, zulrah.getRolls(2));
+        assertEquals(1 / 512.0, zulrah.getProbability(2), MathUtils.EPSILON);
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThrows(IOException.class, () -> DropTable.read(new ByteArrayInputStream(new byte[] { '{', '}', 0, 0, 0 })));
+        assertThrows(IllegalArgumentException.class, () -> DropTable.builder().drop("Goblin", 526, 1, 2, 1, 0.1));
+    }
+
+    @Test
+    void readsBundledResource() throws IOException {
+        DropTable table;
+        try (InputStream is = Objects.requireNonNull(getClass().getResourceAsStream("/npc_drops.bin"))) {
+            table = DropTable.read(is);
+        }
+        assertTrue(table.sourceCount() > 500);
+        for (int source = 0; source < table.sourceCount(); source++) {
+            assertTrue(table.decode(source).size() > 0, table.getSource(source));
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package dinkplugin.util;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DynamicConfigCacheTest {
+
+    private static final String URL = "https://example.com/dink.json";
+    private static final String PROFILE = "rsprofile.abc";
+
+    private final Gson gson = new Gson();
+
+    @Test
+    void persistsLastImport(@TempDir File dir) {
+        Map<String, Object> values = parse("{\"notifyLoot\":true,\"minLootValue\":5000,\"lootItemAllowlist\":\"dragon*\"}");
+        new DynamicConfigCache(gson, dir).put(PROFILE, new DynamicConfigCache.Entry(URL, "\"abc\"", null, values));
+
+        DynamicConfigCache cache = new DynamicConfigCache(gson, dir);
+        assertNull(cache.get(PROFILE, "https://example.com/other.json"));
+        DynamicConfigCache.Entry entry = cache.get(PROFILE, URL);
+        assertEquals("\"abc\"", entry.getEtag());
+        assertNull(entry.getLastModified());
+        assertEquals(values, entry.getValues());
+    }
+
+    @Test
+    void separatesProfiles(@TempDir File dir) {
+        DynamicConfigCache cache = new DynamicConfigCache(gson, dir);
+        DynamicConfigCache.Entry first = new DynamicConfigCache.Entry(URL, "\"abc\"", null, parse("{\"notifyLoot\":true}"));
+        cache.put(PROFILE, first);
+        assertNull(cache.get("rsprofile.other", URL));
+        assertNull(cache.get(null, URL));
+
+        DynamicConfigCache.Entry second = new DynamicConfigCache.Entry(URL, "\"def\"", null, parse("{\"notifyLoot\":false}"));
+        cache.put(null, second);
+
+        DynamicConfigCache reloaded = new DynamicConfigCache(gson, dir);
+        assertEquals(first, reloaded.get(PROFILE, URL));
+        assertEquals(second, reloaded.get(null, URL));
+    }
+
+    private Map<String, Object> parse(String json) {
+        return gson.fromJson(json, new TypeToken<Map<String, Object>>() {}.getType());
+    }
+
+}
@@ -0,0 +1,22 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class FragmentIndexTest {
+
+    @Test
+    void scan() {
+        FragmentIndex index = Objects.requireNonNull(FragmentIndex.of(List.of("he", "she", "his", "hers", "é")));
+        assertArrayEquals(new boolean[] { true, true, false, true, false }, index.scan("USHERS"));
+        assertArrayEquals(new boolean[] { false, false, true, false, false }, index.scan("this"));
+        assertArrayEquals(new boolean[] { false, false, false, false, true }, index.scan("café"));
+        assertArrayEquals(new boolean[] { false, false, false, false, false }, index.scan("CAFÉ"));
+        assertArrayEquals(new boolean[5], index.scan(""));
+    }
+
+}
@@ -0,0 +1,52 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntIntMapTest {
+
+    @Test
+    void putAndGet() {
+        IntIntMap map = new IntIntMap(1);
+        assertEquals(-1, map.get(42, -1));
+
+        map.put(42, 1);
+        map.put(-1, 2);
+        map.put(0, 3);
+        map.put(42, 4);
+        assertEquals(3, map.size());
+        assertEquals(4, map.get(42, -1));
+        assertEquals(2, map.get(-1, -1));
+        assertEquals(3, map.get(0, -1));
+        assertEquals(-1, map.get(43, -1));
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(Integer.MIN_VALUE, 0));
+    }
+
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(0);
+        IntIntMap map = new IntIntMap(16);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            int key = random.nextInt(30_000) - 1;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = -1; key < 30_000; key++) {
+            assertEquals(expected.getOrDefault(key, Integer.MIN_VALUE), map.get(key, Integer.MIN_VALUE));
+        }
+
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+}
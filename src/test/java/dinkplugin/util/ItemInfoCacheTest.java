@@ -0,0 +1,78 @@
+package dinkplugin.util;
+
+import net.runelite.api.ItemComposition;
+import net.runelite.api.gameval.ItemID;
+import net.runelite.client.game.ItemManager;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemInfoCacheTest {
+
+    private final ItemInfoCache cache = new ItemInfoCache();
+
+    @Test
+    void memoizesPriceAndName() {
+        ItemManager itemManager = mockItemManager(ItemID.DRAGON_AXE, "Dragon axe", 2_000_000, 50_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2_000_000, cache.getPrice(itemManager, ItemID.DRAGON_AXE));
+            assertEquals("Dragon axe", cache.getName(itemManager, ItemID.DRAGON_AXE));
+        }
+
+        verify(itemManager, times(1)).getItemPrice(ItemID.DRAGON_AXE);
+        verify(itemManager, times(1)).getItemComposition(ItemID.DRAGON_AXE); // name only
+    }
+
+    @Test
+    void retriesMissingGePrice() {
+        ItemManager itemManager = mockItemManager(ItemID.DRAGON_AXE, "Dragon axe", 0, 50_000);
+
+        // GE prices have not loaded yet
+        assertEquals(50_000, cache.getPrice(itemManager, ItemID.DRAGON_AXE));
+        assertEquals(50_000, cache.getPrice(itemManager, ItemID.DRAGON_AXE));
+
+        when(itemManager.getItemPrice(ItemID.DRAGON_AXE)).thenReturn(2_000_000);
+        assertEquals(2_000_000, cache.getPrice(itemManager, ItemID.DRAGON_AXE));
+        assertEquals(2_000_000, cache.getPrice(itemManager, ItemID.DRAGON_AXE));
+        verify(itemManager, times(3)).getItemPrice(ItemID.DRAGON_AXE);
+    }
+
+    @Test
+    void invalidate() {
+        ItemManager itemManager = mockItemManager(ItemID.SHARK, "Shark", 800, 0);
+        assertEquals(800, cache.getPrice(itemManager, ItemID.SHARK));
+
+        when(itemManager.getItemPrice(ItemID.SHARK)).thenReturn(750);
+        assertEquals(800, cache.getPrice(itemManager, ItemID.SHARK));
+        cache.invalidate();
+        assertEquals(750, cache.getPrice(itemManager, ItemID.SHARK));
+    }
+
+    @Test
+    void resetsForNewItemManager() {
+        ItemManager first = mockItemManager(ItemID.SHARK, "Shark", 800, 0);
+        ItemManager second = mockItemManager(ItemID.SHARK, "Shark", 900, 0);
+
+        assertEquals(800, cache.getPrice(first, ItemID.SHARK));
+        assertEquals(900, cache.getPrice(second, ItemID.SHARK));
+        assertEquals(900, cache.getPrice(second, ItemID.SHARK));
+        verify(second, times(1)).getItemPrice(ItemID.SHARK);
+    }
+
+    private static ItemManager mockItemManager(int id, String name, int gePrice, int storePrice) {
+        ItemComposition composition = mock(ItemComposition.class);
+        when(composition.getMembersName()).thenReturn(name);
+        when(composition.getPrice()).thenReturn(storePrice);
+
+        ItemManager itemManager = mock(ItemManager.class);
+        when(itemManager.getItemPrice(id)).thenReturn(gePrice);
+        when(itemManager.getItemComposition(id)).thenReturn(composition);
+        return itemManager;
+    }
+
+}
@@ -0,0 +1,86 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class KillCountStoreTest {
+
+    private final ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+
+    @BeforeEach
+    void setUp() {
+        // run profile switches inline, but leave delayed flushes to the test
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void persistsPerProfile(@TempDir File dir) {
+        KillCountStore store = new KillCountStore(executor, dir);
+        store.load("rsprofile.abc");
+        store.put("Zulrah", 100);
+        store.merge("Zulrah", 99, Math::max);
+        assertEquals(101, store.computeIfPresent("Zulrah", (k, kc) -> kc + 1));
+        assertNull(store.computeIfPresent("Vorkath", (k, kc) -> kc + 1));
+
+        // a single delayed flush is scheduled for multiple changes
+        verify(executor, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.SECONDS));
+        store.flush();
+
+        // other profiles are separate
+        store.load("rsprofile.xyz");
+        assertNull(store.get("Zulrah"));
+        store.put("Zulrah", 5);
+
+        store.load("rsprofile.abc");
+        assertEquals(101, store.get("Zulrah"));
+        store.load("rsprofile.xyz");
+        assertEquals(5, store.get("Zulrah"));
+    }
+
+    @Test
+    void dropsUpdatesFromPreviousProfile(@TempDir File dir) {
+        KillCountStore store = new KillCountStore(executor, dir);
+        store.load("rsprofile.abc");
+        int generation = store.getGeneration();
+        assertEquals(100, store.merge(generation, "Zulrah", 100, Math::max));
+
+        store.load("rsprofile.xyz");
+        assertNull(store.merge(generation, "Zulrah", 101, Math::max));
+        assertNull(store.get("Zulrah"));
+
+        store.load("rsprofile.abc");
+        assertEquals(100, store.get("Zulrah"));
+    }
+
+    @Test
+    void memoryOnlyWithoutProfile(@TempDir File dir) {
+        KillCountStore store = new KillCountStore(executor, dir);
+        store.put("Zulrah", 100);
+        assertEquals(100, store.get("Zulrah"));
+        store.unload();
+
+        assertNull(store.get("Zulrah"));
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any());
+        assertEquals(0, dir.list().length);
+    }
+
+}
@@ -0,0 +1,37 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyMapTest {
+
+    @Test
+    void resolvesOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyMap<String, Object> map = LazyMap.of(() -> {
+            calls.incrementAndGet();
+            Map<String, Object> m = new HashMap<>();
+            m.put("playerName", "dank dank");
+            return m;
+        });
+        assertFalse(map.isResolved());
+        assertEquals(0, calls.get());
+
+        assertEquals("dank dank", map.get("playerName"));
+        assertTrue(map.containsKey("playerName"));
+        assertEquals(Map.of("playerName", "dank dank"), map);
+        assertTrue(map.isResolved());
+        assertEquals(1, calls.get());
+
+        assertThrows(UnsupportedOperationException.class, () -> map.put("plainText", ""));
+    }
+
+}
@@ -0,0 +1,63 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatternSetTest {
+
+    @Test
+    void matches() {
+        PatternSet patterns = PatternSet.fromConfig("Vorkath's head; dragon*\n*orb, *Hello*world!*\nMembership's price is $12.49");
+
+        assertTrue(patterns.matches("vorkath's head"));
+        assertFalse(patterns.matches("vorkath's head (uncharged)"));
+        assertTrue(patterns.matches("Dragon pickaxe"));
+        assertFalse(patterns.matches("iron dragon pickaxe"));
+        assertTrue(patterns.matches("awakener's orb"));
+        assertFalse(patterns.matches("commorb v2"));
+        assertTrue(patterns.matches("Hi hello cruel World!!"));
+        assertTrue(patterns.matches("MEMBERSHIP'S PRICE IS $12.49"));
+        assertFalse(patterns.matches("Membership's price is $12349"));
+        assertFalse(patterns.matches("Abyssal whip"));
+    }
+
+    @Test
+    void findMatch() {
+        PatternSet patterns = PatternSet.compile(Stream.of("*has joined.", "Poki*", "poki has joined.", "*boss*drop*", "*drop*"));
+
+        assertEquals("*has joined.", patterns.findMatch("Poki has joined."));
+        assertEquals("*has joined.", patterns.findMatch("Forsen has joined."));
+        assertEquals("poki has joined.", PatternSet.compile(Stream.of("poki has joined.", "*has joined.")).findMatch("Poki has joined."));
+        assertEquals("Poki*", PatternSet.compile(Stream.of("Poki*", "poki has joined.")).findMatch("Poki has joined."));
+        assertEquals("Poki*", patterns.findMatch("Poki received a drop"));
+        assertEquals("*boss*drop*", patterns.findMatch("A boss dropped loot"));
+        assertEquals("*drop*", patterns.findMatch("DROP boss"));
+        assertNull(patterns.findMatch("Forsen has left."));
+        assertNull(patterns.findMatch("Boss dro"));
+    }
+
+    @Test
+    void literalsAreAsciiCaseInsensitive() {
+        PatternSet patterns = PatternSet.compile(Stream.of("Ahrim's hood", "Ćlue"));
+        assertTrue(patterns.matches("AHRIM'S HOOD"));
+        assertTrue(patterns.matches("ĆLUE"));
+        assertFalse(patterns.matches("ćlue"));
+    }
+
+    @Test
+    void empty() {
+        assertSame(PatternSet.EMPTY, PatternSet.fromConfig(null));
+        assertSame(PatternSet.EMPTY, PatternSet.fromConfig(" ;\n, "));
+        assertTrue(PatternSet.EMPTY.isEmpty());
+        assertFalse(PatternSet.EMPTY.matches(""));
+        assertTrue(PatternSet.compile(Stream.of("*")).matches(""));
+    }
+
+}
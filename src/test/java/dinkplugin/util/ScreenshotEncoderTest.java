@@ -0,0 +1,93 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScreenshotEncoderTest {
+
+    private final ScreenshotEncoder encoder = new ScreenshotEncoder();
+
+    @Test
+    void encodesPngWithinLimit() throws Exception {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Map.Entry<String, byte[]> result = encoder.encode(image, 1.0, 1 << 20);
+        assertEquals("png", result.getKey());
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(result.getValue()));
+        assertNotNull(decoded);
+        assertEquals(100, decoded.getWidth());
+
+        // the estimate adapts to the (highly compressible) image
+        assertTrue(encoder.getPngBytesPerPixel() < 1.5);
+    }
+
+    @Test
+    void fallsBackToJpeg() throws Exception {
+        BufferedImage image = (BufferedImage) TestImageUtil.random(200, 200);
+        int limit = 40_000; // random noise does not compress well as png
+        Map.Entry<String, byte[]> result = encoder.encode(image, 1.0, limit);
+        assertEquals("jpeg", result.getKey());
+        assertTrue(result.getValue().length <= limit);
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(result.getValue()));
+        assertNotNull(decoded);
+        assertNotEquals(200, decoded.getWidth());
+    }
+
+    @Test
+    void retriesPngAfterBusyFrame() throws Exception {
+        int limit = 70_000; // above the prior estimate, but below the estimate after observing noise
+        Map.Entry<String, byte[]> noisy = encoder.encode((BufferedImage) TestImageUtil.random(200, 200), 1.0, limit);
+        assertEquals("jpeg", noisy.getKey());
+        assertTrue(encoder.getPngBytesPerPixel() * 200 * 200 > limit);
+
+        // the inflated estimate relaxes while png is skipped, so lossless encoding is eventually attempted again
+        BufferedImage blank = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+        String format = null;
+        for (int i = 0; i < 10 && !"png".equals(format); i++) {
+            format = encoder.encode(blank, 1.0, limit).getKey();
+        }
+        assertEquals("png", format);
+    }
+
+    @Test
+    void appliesScale() throws Exception {
+        BufferedImage image = new BufferedImage(100, 60, BufferedImage.TYPE_INT_ARGB);
+        Map.Entry<String, byte[]> result = encoder.encode(image, 0.5, 1 << 20);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(result.getValue()));
+        assertEquals(50, decoded.getWidth());
+        assertEquals(30, decoded.getHeight());
+    }
+
+    @Test
+    void searchesJpegQuality() throws Exception {
+        BufferedImage image = (BufferedImage) TestImageUtil.random(200, 200);
+        int low = Utils.convertImageToByteArray(toRgb(image), ImageCodec.jpeg(0.4f)).length;
+        int high = Utils.convertImageToByteArray(toRgb(image), ImageCodec.jpeg(0.9f)).length;
+        assertTrue(low < high);
+
+        // budget between the extremes should be satisfied without downscaling
+        int budget = (low + high) / 2;
+        Map.Entry<String, byte[]> result = encoder.encode(image, 1.0, budget);
+        assertEquals("jpeg", result.getKey());
+        assertTrue(result.getValue().length <= budget);
+        assertTrue(result.getValue().length >= low);
+        assertEquals(200, ImageIO.read(new ByteArrayInputStream(result.getValue())).getWidth());
+    }
+
+    private static BufferedImage toRgb(BufferedImage image) {
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        rgb.getGraphics().drawImage(image, 0, 0, null);
+        return rgb;
+    }
+
+}
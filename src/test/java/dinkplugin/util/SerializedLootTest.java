@@ -1,10 +1,12 @@
 package dinkplugin.util;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
 import net.runelite.api.gameval.ItemID;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class SerializedLootTest {
 
@@ -16,4 +18,14 @@ class SerializedLootTest {
         assertEquals(2, lootRecord.getQuantity(ItemID.RUNE_CHAINBODY));
     }
 
+    @Test
+    void readKills() {
+        assertEquals(16, SerializedLoot.readKills("{\"type\":\"NPC\",\"name\":\"Bryophyta\",\"kills\":16,\"drops\":[23182,16,532,16]}"));
+        assertEquals(7, SerializedLoot.readKills("{\"drops\":[23182,16,532,16],\"meta\":{\"kills\":3},\"kills\":7}"));
+        assertEquals(0, SerializedLoot.readKills("{\"drops\":[]}"));
+        assertEquals(0, SerializedLoot.readKills("{\"kills\":null}"));
+        assertThrows(JsonSyntaxException.class, () -> SerializedLoot.readKills("[16]"));
+        assertThrows(JsonSyntaxException.class, () -> SerializedLoot.readKills("{\"kills\":\"many\"}"));
+    }
+
 }
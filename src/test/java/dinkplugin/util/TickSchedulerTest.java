@@ -0,0 +1,86 @@
+package dinkplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TickSchedulerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> ticked = new ArrayList<>();
+
+    @Test
+    void skipsIdleComponents() {
+        Listener idle = new Listener("idle", 0L, false);
+        TickScheduler scheduler = TickScheduler.builder()
+            .clock(clock::get)
+            .urgent("a", new Listener("a", 0L, true))
+            .urgent("idle", idle)
+            .deferrable("b", new Listener("b", 0L, true))
+            .build();
+
+        scheduler.onTick();
+        assertEquals(List.of("a", "b"), ticked);
+
+        idle.pending = true;
+        scheduler.onTick();
+        assertEquals(List.of("a", "b", "a", "idle", "b"), ticked);
+        assertEquals(1, scheduler.getTimings().get(1).getRuns());
+    }
+
+    @Test
+    void defersWhenOverBudget() {
+        TickScheduler scheduler = TickScheduler.builder()
+            .clock(clock::get)
+            .budget(100L)
+            .deferrable("lazy", new Listener("lazy", 1L, true))
+            .urgent("slow", new Listener("slow", 150L, true))
+            .build();
+
+        for (int i = 0; i < TickScheduler.MAX_DEFERRED_TICKS; i++) {
+            scheduler.onTick();
+        }
+        assertEquals(Collections.nCopies(TickScheduler.MAX_DEFERRED_TICKS, "slow"), ticked);
+
+        // deferrable component cannot be postponed indefinitely
+        scheduler.onTick();
+        assertEquals(List.of("slow", "lazy"), ticked.subList(ticked.size() - 2, ticked.size()));
+
+        List<TickScheduler.Timing> timings = scheduler.getTimings();
+        assertEquals("slow", timings.get(0).getName());
+        assertEquals(6 * 150L, timings.get(0).getTotalNanos());
+        assertEquals(150L, timings.get(0).getMaxNanos());
+        assertEquals("lazy", timings.get(1).getName());
+        assertEquals(1, timings.get(1).getRuns());
+        assertEquals(TickScheduler.MAX_DEFERRED_TICKS, timings.get(1).getDeferrals());
+    }
+
+    private class Listener implements TickListener {
+        private final String name;
+        private final long cost;
+        private boolean pending;
+
+        private Listener(String name, long cost, boolean pending) {
+            this.name = name;
+            this.cost = cost;
+            this.pending = pending;
+        }
+
+        @Override
+        public void onTick() {
+            ticked.add(name);
+            clock.addAndGet(cost);
+        }
+
+        @Override
+        public boolean isTickPending() {
+            return pending;
+        }
+    }
+
+}